@@ -0,0 +1,52 @@
+package com.demo.auth;
+
+import com.demo.entity.vo.SessionUser;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 每个请求只读一次 session，把登录用户放进 request 属性供 SessionUserArgumentResolver 注入。
+ * 标注了 LoginRequired 而未登录时直接写响应，不抛异常：接口返回 401，页面重定向到登录页
+ */
+public class AuthInterceptor implements HandlerInterceptor {
+    public static final String PRINCIPAL = AuthInterceptor.class.getName() + ".principal";
+
+    private static final byte[] UNAUTHORIZED_BODY = "{\"message\":\"请登录！\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        // 不创建 session，匿名请求不会在服务端留下空 session
+        HttpSession session = request.getSession(false);
+        Object user = session == null ? null : session.getAttribute("user");
+        if (user instanceof SessionUser) {
+            request.setAttribute(PRINCIPAL, user);
+            return true;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        if (!method.hasMethodAnnotation(LoginRequired.class)
+                && !AnnotatedElementUtils.hasAnnotation(method.getBeanType(), LoginRequired.class)) {
+            return true;
+        }
+        if (method.hasMethodAnnotation(ResponseBody.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), ResponseBody.class)) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json;charset=UTF-8");
+            response.setContentLength(UNAUTHORIZED_BODY.length);
+            response.getOutputStream().write(UNAUTHORIZED_BODY);
+        } else {
+            response.sendRedirect(request.getContextPath() + "/login");
+        }
+        return false;
+    }
+}
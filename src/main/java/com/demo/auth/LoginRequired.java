@@ -0,0 +1,12 @@
+package com.demo.auth;
+
+import java.lang.annotation.*;
+
+/**
+ * 需要登录的接口，可加在方法或控制器类上。未登录时由 AuthInterceptor 直接拒绝，不进入控制器
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoginRequired {
+}
@@ -0,0 +1,35 @@
+package com.demo.auth;
+
+import com.demo.entity.vo.SessionUser;
+import com.demo.exception.LoginException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 控制器方法的 SessionUser 参数注入 AuthInterceptor 解析好的登录用户。
+ * 标注了 LoginRequired 的方法一定非空，其他方法未登录时为 null
+ */
+public class SessionUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == SessionUser.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object user = webRequest.getAttribute(AuthInterceptor.PRINCIPAL, RequestAttributes.SCOPE_REQUEST);
+        if (user == null && (parameter.hasMethodAnnotation(LoginRequired.class)
+                || AnnotatedElementUtils.hasAnnotation(parameter.getContainingClass(), LoginRequired.class))) {
+            // 拦截器没有生效时才会走到这里
+            throw LoginException.ANONYMOUS;
+        }
+        return user;
+    }
+}
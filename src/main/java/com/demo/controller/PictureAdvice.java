@@ -0,0 +1,19 @@
+package com.demo.controller;
+
+import com.demo.utils.FileUtil;
+import com.demo.utils.Pictures;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+/**
+ * 所有页面都可以用 ${pictures.thumb(...)} 等取合适尺寸的图片
+ */
+@ControllerAdvice
+public class PictureAdvice {
+    private final Pictures pictures = new Pictures(FileUtil.staticRoot());
+
+    @ModelAttribute("pictures")
+    public Pictures pictures() {
+        return pictures;
+    }
+}
@@ -0,0 +1,33 @@
+package com.demo.controller.admin;
+
+import com.demo.entity.vo.CacheRegionStat;
+import com.demo.service.CacheStatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+@Controller
+public class AdminCacheController {
+    @Autowired
+    private CacheStatService cacheStatService;
+
+    /**
+     * 各二级缓存区域的命中统计
+     */
+    @GetMapping("/admin/cacheStats.do")
+    @ResponseBody
+    public List<CacheRegionStat> cacheStats(){
+        return cacheStatService.regions();
+    }
+
+    @PostMapping("/admin/resetCacheStats.do")
+    @ResponseBody
+    public boolean resetCacheStats(){
+        cacheStatService.reset();
+        return true;
+    }
+}
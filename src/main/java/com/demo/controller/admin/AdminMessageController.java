@@ -2,6 +2,8 @@ package com.demo.controller.admin;
 
 import com.demo.entity.Message;
 import com.demo.entity.vo.MessageVo;
+import com.demo.service.CountService;
+import com.demo.service.HomePageService;
 import com.demo.service.MessageService;
 import com.demo.service.MessageVoService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,11 +22,14 @@ public class AdminMessageController {
     private MessageService messageService;
     @Autowired
     private MessageVoService messageVoService;
+    @Autowired
+    private HomePageService homePageService;
+    @Autowired
+    private CountService countService;
 
     @GetMapping("/message_manage")
     public String message_manage(Model model){
-        Pageable message_pageable= PageRequest.of(0,10, Sort.by("time").descending());
-        model.addAttribute("total",messageService.findWaitState(message_pageable).getTotalPages());
+        model.addAttribute("total",CountService.totalPages(countService.countMessages(MessageService.STATE_NO_AUDIT),10));
         return "admin/message_manage";
     }
 
@@ -46,6 +51,7 @@ public class AdminMessageController {
     public boolean passMessage(int messageID){
 
         messageService.confirmMessage(messageID);
+        homePageService.evictMessages();
         return true;
     }
 
@@ -54,13 +60,40 @@ public class AdminMessageController {
     public boolean rejectMessage(int messageID){
 
         messageService.rejectMessage(messageID);
+        homePageService.evictMessages();
         return true;
     }
 
+    /**
+     * 批量通过，messageIDs 可写成 messageIDs=1,2,3 或重复参数
+     * @param messageIDs
+     * @return 实际被通过的留言id
+     */
+    @PostMapping("/passMessages.do")
+    @ResponseBody
+    public List<Integer> passMessages(@RequestParam("messageIDs") List<Integer> messageIDs){
+        List<Integer> passed=messageService.confirmMessages(messageIDs);
+        if(!passed.isEmpty()) {
+            homePageService.evictMessages();
+        }
+        return passed;
+    }
+
+    @PostMapping("/rejectMessages.do")
+    @ResponseBody
+    public List<Integer> rejectMessages(@RequestParam("messageIDs") List<Integer> messageIDs){
+        List<Integer> rejected=messageService.rejectMessages(messageIDs);
+        if(!rejected.isEmpty()) {
+            homePageService.evictMessages();
+        }
+        return rejected;
+    }
+
     @RequestMapping("/delMessage.do")
     @ResponseBody
     public boolean delMessage(int messageID){
         messageService.delById(messageID);
+        homePageService.evictMessages();
         return true;
     }
 
@@ -1,6 +1,9 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.NewsSummary;
+import com.demo.service.CountService;
+import com.demo.service.HomePageService;
 import com.demo.service.NewsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -20,12 +23,14 @@ import java.util.List;
 public class AdminNewsController {
     @Autowired
     private NewsService newsService;
+    @Autowired
+    private HomePageService homePageService;
+    @Autowired
+    private CountService countService;
 
     @GetMapping("/news_manage")
     public String news_manage(Model model){
-        Pageable news_pageable= PageRequest.of(0,10, Sort.by("time").ascending());
-        Page<News> news=newsService.findAll(news_pageable);
-        model.addAttribute("total",news.getTotalPages());
+        model.addAttribute("total",CountService.totalPages(countService.countNews(),10));
         return "admin/news_manage";
     }
 
@@ -43,9 +48,9 @@ public class AdminNewsController {
 
     @RequestMapping("/newsList.do")
     @ResponseBody
-    public List<News> newsList(@RequestParam(value = "page",defaultValue = "1")int page){
+    public List<NewsSummary> newsList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable news_pageable= PageRequest.of(page-1,10, Sort.by("time").descending());
-        Page<News> news=newsService.findAll(news_pageable);
+        Page<NewsSummary> news=newsService.findSummaries(news_pageable);
         return news.getContent();
     }
 
@@ -53,6 +58,7 @@ public class AdminNewsController {
     @ResponseBody
     public boolean delNews(int newsID){
         newsService.delById(newsID);
+        homePageService.evictNews();
         return true;
 
     }
@@ -64,6 +70,7 @@ public class AdminNewsController {
         news.setContent(content);
         news.setTime(LocalDateTime.now());
         newsService.update(news);
+        homePageService.evictNews();
         response.sendRedirect("news_manage");
     }
 
@@ -74,6 +81,7 @@ public class AdminNewsController {
         news.setContent(content);
         news.setTime(LocalDateTime.now());
         newsService.create(news);
+        homePageService.evictNews();
         response.sendRedirect("news_manage");
     }
 
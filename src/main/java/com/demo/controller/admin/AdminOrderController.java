@@ -1,7 +1,10 @@
 package com.demo.controller.admin;
 
-import com.demo.entity.Order;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
+import com.demo.entity.vo.SweepStats;
+import com.demo.service.CountService;
+import com.demo.service.OrderExpiryService;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,14 +26,14 @@ public class AdminOrderController {
     private OrderService orderService;
     @Autowired
     private OrderVoService orderVoService;
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+    @Autowired
+    private CountService countService;
 
     @GetMapping("/reservation_manage")
     public String reservation_manage(Model model){
-        List<Order> orders= orderService.findAuditOrder();
-        List<OrderVo> orderVos=orderVoService.returnVo(orders);
-        Pageable order_pageable= PageRequest.of(0,10, Sort.by("orderTime").descending());
-        model.addAttribute("order_list",orderVos);
-        model.addAttribute("total",orderService.findNoAuditOrder(order_pageable).getTotalPages());
+        model.addAttribute("total",CountService.totalPages(countService.countOrders(OrderService.STATE_NO_AUDIT),10));
 
         return "admin/reservation_manage";
     }
@@ -44,8 +47,29 @@ public class AdminOrderController {
     @ResponseBody
     public List<OrderVo> getNoAuditOrder(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable order_pageable= PageRequest.of(page-1,10, Sort.by("orderTime").descending());
-        List<Order> orders=orderService.findNoAuditOrder(order_pageable).getContent();
-        return orderVoService.returnVo(orders);
+        return orderVoService.findNoAuditOrderVo(order_pageable).getContent();
+    }
+
+    /**
+     * 管理员游标分页查看已审核、已完成订单，页面逐页追加
+     * @param cursor
+     * @param size
+     * @return
+     */
+    @GetMapping("/admin/getAuditOrderList.do")
+    @ResponseBody
+    public CursorPage<OrderVo> getAuditOrder(@RequestParam(value = "cursor",required = false)String cursor,
+                                             @RequestParam(value = "size",defaultValue = "20")int size){
+        return orderVoService.findAuditOrderFeed(cursor,Math.min(Math.max(size,1),100));
+    }
+
+    /**
+     * 过期未审核订单自动清理的统计
+     */
+    @GetMapping("/admin/orderExpiryStats.do")
+    @ResponseBody
+    public SweepStats orderExpiryStats(){
+        return orderExpiryService.stats();
     }
 
     @PostMapping("/passOrder.do")
@@ -61,4 +85,21 @@ public class AdminOrderController {
         orderService.rejectOrder(orderID);
         return true;
     }
+
+    /**
+     * 批量通过，orderIDs 可写成 orderIDs=1,2,3 或重复参数
+     * @param orderIDs
+     * @return 实际被通过的订单id
+     */
+    @PostMapping("/passOrders.do")
+    @ResponseBody
+    public List<Integer> confirmOrders(@RequestParam("orderIDs") List<Integer> orderIDs) {
+        return orderService.confirmOrders(orderIDs);
+    }
+
+    @PostMapping("/rejectOrders.do")
+    @ResponseBody
+    public List<Integer> rejectOrders(@RequestParam("orderIDs") List<Integer> orderIDs) {
+        return orderService.rejectOrders(orderIDs);
+    }
 }
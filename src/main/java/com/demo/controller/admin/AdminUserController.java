@@ -1,9 +1,12 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.UserSummary;
+import com.demo.service.CountService;
+import com.demo.service.ImageService;
 import com.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,13 +26,13 @@ import java.util.List;
 public class AdminUserController {
     @Autowired
     private UserService userService;
+    @Autowired
+    private ImageService imageService;
 
 
     @GetMapping("/user_manage")
     public String user_manage(Model model){
-        Pageable user_pageable= PageRequest.of(0,10, Sort.by("id").ascending());
-        Page<User> users=userService.findByUserID(user_pageable);
-        model.addAttribute("total",users.getTotalPages());
+        model.addAttribute("total",CountService.totalPages(userService.countUsers(),10));
         return "admin/user_manage";
     }
 
@@ -40,10 +43,9 @@ public class AdminUserController {
 
     @GetMapping("/userList.do")
     @ResponseBody
-    public List<User> userList(@RequestParam(value = "page",defaultValue = "1")int page){
+    public List<UserSummary> userList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable user_pageable= PageRequest.of(page-1,10, Sort.by("id").ascending());
-        Page<User> users=userService.findByUserID(user_pageable);
-        return users.getContent();
+        return userService.findSummaries(user_pageable);
     }
 
 
@@ -77,7 +79,13 @@ public class AdminUserController {
         user.setEmail(email);
         user.setPhone(phone);
         user.setPicture("");
-        userService.create(user);
+        try {
+            userService.create(user);
+        } catch (DataIntegrityViolationException e) {
+            // checkUserID 之后被抢注，由 userID 唯一索引拦下
+            response.sendError(HttpServletResponse.SC_CONFLICT, "用户名已存在");
+            return;
+        }
         response.sendRedirect("user_manage");
     }
 
@@ -90,7 +98,11 @@ public class AdminUserController {
     @PostMapping("/delUser.do")
     @ResponseBody
     public boolean delUser(int id){
+        User user=userService.findById(id);
         userService.delByID(id);
+        if(user!=null){
+            imageService.release(user.getPicture());
+        }
         return true;
     }
 }
@@ -1,8 +1,12 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.VenueStat;
+import com.demo.entity.vo.VenueSummary;
+import com.demo.service.HomePageService;
+import com.demo.service.ImageService;
 import com.demo.service.VenueService;
-import com.demo.utils.FileUtil;
+import com.demo.service.VenueStatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,9 +16,12 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.persistence.EntityNotFoundException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 
@@ -22,6 +29,12 @@ import java.util.Objects;
 public class AdminVenueController {
     @Autowired
     private VenueService venueService;
+    @Autowired
+    private VenueStatService venueStatService;
+    @Autowired
+    private ImageService imageService;
+    @Autowired
+    private HomePageService homePageService;
 
 
     @RequestMapping("/venue_manage")
@@ -31,6 +44,35 @@ public class AdminVenueController {
         return "admin/venue_manage";
     }
 
+    /**
+     * 各场馆按月或按年的预约时长、收入和订单数，month 为空时按年；年月不合法时返回 400
+     */
+    @GetMapping("/admin/venueStats.do")
+    @ResponseBody
+    public List<VenueStat> venueStats(int year, @RequestParam(value = "month",required = false)Integer month,
+                                      HttpServletResponse response) throws IOException {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from=month==null ? LocalDate.of(year,1,1) : LocalDate.of(year,month,1);
+            to=month==null ? from.plusYears(1).minusDays(1) : from.plusMonths(1).minusDays(1);
+        } catch (DateTimeException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return null;
+        }
+        return venueStatService.sum(from,to);
+    }
+
+    /**
+     * 从订单表和归档表重建统计
+     */
+    @PostMapping("/admin/rebuildVenueStats.do")
+    @ResponseBody
+    public boolean rebuildVenueStats(){
+        venueStatService.rebuild();
+        return true;
+    }
+
     @RequestMapping("/venue_edit")
     public String editVenue(Model model,int venueID){
         Venue venue=venueService.findByVenueID(venueID);
@@ -45,9 +87,9 @@ public class AdminVenueController {
 
     @GetMapping("/venueList.do")
     @ResponseBody
-    public List<Venue> getVenueList(@RequestParam(value = "page",defaultValue = "1")int page){
+    public List<VenueSummary> getVenueList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable pageable= PageRequest.of(page-1,10, Sort.by("venueID").ascending());
-        return venueService.findAll(pageable).getContent();
+        return venueService.findSummaries(pageable).getContent();
 
     }
 
@@ -65,16 +107,24 @@ public class AdminVenueController {
         venue.setClose_time(close_time);
 
         if(!Objects.equals(picture.getOriginalFilename(), "")){
-            venue.setPicture(FileUtil.saveVenueFile(picture));
+            venue.setPicture(imageService.saveVenuePicture(picture));
         }else{
             venue.setPicture("");
         }
 
-        int id=venueService.create(venue);
+        int id;
+        try {
+            id=venueService.create(venue);
+        } catch (RuntimeException e) {
+            imageService.release(venue.getPicture());
+            throw e;
+        }
         if (id <= 0) {
+            imageService.release(venue.getPicture());
             request.setAttribute("message", "添加失败！");
             response.sendRedirect("venue_add");
         } else {
+            homePageService.evictVenues();
             response.sendRedirect("venue_manage");
         }
     }
@@ -89,19 +139,44 @@ public class AdminVenueController {
         venue.setAddress(address);
         venue.setDescription(description);
         venue.setPrice(price);
-        if(!Objects.equals(picture.getOriginalFilename(), "")){
-            venue.setPicture(FileUtil.saveVenueFile(picture));
+        String oldPicture=venue.getPicture();
+        boolean replaced=!Objects.equals(picture.getOriginalFilename(), "");
+        if(replaced){
+            venue.setPicture(imageService.saveVenuePicture(picture));
         }
         venue.setOpen_time(open_time);
         venue.setClose_time(close_time);
-        venueService.update(venue);
+        try {
+            venueService.update(venue);
+        } catch (RuntimeException e) {
+            // 保存失败时新图片没有被引用，退回 saveVenuePicture 加上的引用
+            if(replaced){
+                imageService.release(venue.getPicture());
+            }
+            throw e;
+        }
+        homePageService.evictVenues();
+        if(replaced){
+            imageService.release(oldPicture);
+        }
         response.sendRedirect("venue_manage");
     }
 
     @PostMapping("/delVenue.do")
     @ResponseBody
     public boolean delVenue(int venueID) throws IOException {
+        Venue venue;
+        try {
+            venue=venueService.findByVenueID(venueID);
+        } catch (EntityNotFoundException e) {
+            // 场馆不存在时仍交给 delById 处理，行为和之前一致
+            venue=null;
+        }
         venueService.delById(venueID);
+        homePageService.evictVenues();
+        if(venue!=null){
+            imageService.release(venue.getPicture());
+        }
         return true;
     }
 
@@ -1,11 +1,14 @@
 package com.demo.controller.user;
 
 import com.demo.entity.Message;
-import com.demo.entity.User;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.MessageVo;
+import com.demo.entity.vo.SessionUser;
+import com.demo.service.CountService;
+import com.demo.service.HomePageService;
 import com.demo.service.MessageService;
 import com.demo.service.MessageVoService;
-import com.demo.exception.LoginException;
+import com.demo.auth.LoginRequired;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,7 +18,6 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -27,25 +29,20 @@ public class MessageController {
     private MessageService messageService;
     @Autowired
     private MessageVoService messageVoService;
+    @Autowired
+    private HomePageService homePageService;
+    @Autowired
+    private CountService countService;
 
+    @LoginRequired
     @GetMapping("/message_list")
-    public String message_list(Model model,HttpServletRequest request)throws Exception{
-        Pageable message_pageable= PageRequest.of(0,5, Sort.by("time").descending());
-        Page<Message> messages=messageService.findPassState(message_pageable);
-        List<MessageVo> message_list=messageVoService.returnVo(messages.getContent());
-
-        model.addAttribute("total",messages.getTotalPages());
-
-        Object user=request.getSession().getAttribute("user");
-        if(user==null) {
-            throw new LoginException("请登录！");
-        }
-        User loginUser=(User)user;
-
-            Pageable user_message_pageable = PageRequest.of(0,5, Sort.by("time").descending());
-            model.addAttribute("user_total",messageService.findByUser(loginUser.getUserID(),user_message_pageable).getTotalPages());
-
+    public String message_list(Model model,SessionUser loginUser)throws Exception{
+        // 第一页用游标查询，总页数取计数器，都不做 count(*)
+        List<Message> messages=messageService.findPassFeed(null,5).getContent();
+        List<MessageVo> message_list=messageVoService.returnVo(messages);
 
+        model.addAttribute("total",CountService.totalPages(countService.countMessages(MessageService.STATE_PASS),5));
+        model.addAttribute("user_total",CountService.totalPages(countService.countUserMessages(loginUser.getUserID()),5));
 
         return "message_list";
     }
@@ -62,17 +59,22 @@ public class MessageController {
         return message_list;
     }
 
+    //游标分页，只显示通过状态的留言
+    @GetMapping("/message/getMessageFeed")
+    @ResponseBody
+    public CursorPage<MessageVo> message_feed(@RequestParam(value = "cursor",required = false)String cursor,
+                                              @RequestParam(value = "size",defaultValue = "5")int size){
+        CursorPage<Message> messages=messageService.findPassFeed(cursor,Math.min(Math.max(size,1),50));
+        return new CursorPage<>(messageVoService.returnVo(messages.getContent()),messages.getNextCursor());
+    }
+
     //User的留言不管是否通过都显示
+    @LoginRequired
     @GetMapping("/message/findUserList")
     @ResponseBody
-    public List<MessageVo> user_message_list(@RequestParam(value = "page",defaultValue = "1")int page,HttpServletRequest request){
+    public List<MessageVo> user_message_list(@RequestParam(value = "page",defaultValue = "1")int page,SessionUser loginUser){
         System.out.println("find user messages");
 //        if(request.getSession().getAttribute("user")!=null) {
-        Object user=request.getSession().getAttribute("user");
-        if(user==null) {
-            throw new LoginException("请登录！");
-        }
-        User loginUser=(User)user;
 
             Pageable message_pageable = PageRequest.of(page - 1, 5, Sort.by("time").descending());
             List<Message> user_messages = messageService.findByUser(loginUser.getUserID(), message_pageable).getContent();
@@ -101,6 +103,7 @@ public class MessageController {
         message.setTime(LocalDateTime.now());
         message.setState(1);
         messageService.update(message);
+        homePageService.evictMessages();
         return true;
     }
 
@@ -109,6 +112,7 @@ public class MessageController {
     public boolean delMessage(int messageID)
     {
         messageService.delById(messageID);
+        homePageService.evictMessages();
         return true;
     }
 
@@ -1,6 +1,9 @@
 package com.demo.controller.user;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.NewsSummary;
+import com.demo.service.CountService;
 import com.demo.service.NewsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -19,6 +22,8 @@ import java.util.List;
 public class NewsController {
     @Autowired
     private NewsService newsService;
+    @Autowired
+    private CountService countService;
 
     @GetMapping("/news")
     public String news(Model model,int newsID){
@@ -29,18 +34,28 @@ public class NewsController {
 
     @GetMapping("/news/getNewsList")
     @ResponseBody
-    public Page<News> news_list(@RequestParam(value = "page",defaultValue = "1")int page){
+    public Page<NewsSummary> news_list(@RequestParam(value = "page",defaultValue = "1")int page){
         System.out.println("success");
         Pageable news_pageable= PageRequest.of(page-1,5, Sort.by("time").descending());
-        return newsService.findAll(news_pageable);
+        return newsService.findSummaries(news_pageable);
+    }
+
+    /**
+     * 游标分页查看新闻，返回下一页游标
+     */
+    @GetMapping("/news/getNewsFeed")
+    @ResponseBody
+    public CursorPage<News> news_feed(@RequestParam(value = "cursor",required = false)String cursor,
+                                      @RequestParam(value = "size",defaultValue = "5")int size){
+        return newsService.findFeed(cursor,Math.min(Math.max(size,1),50));
     }
 
     @GetMapping("/news_list")
     public String news_list(Model model){
-        Pageable news_pageable= PageRequest.of(0,5, Sort.by("time").descending());
-        List<News> news_list= newsService.findAll(news_pageable).getContent();
+        // 第一页用游标查询，总页数取计数器，都不做 count(*)
+        List<News> news_list= newsService.findFeed(null,5).getContent();
         model.addAttribute("news_list",news_list);
-        model.addAttribute("total", newsService.findAll(news_pageable).getTotalPages());
+        model.addAttribute("total", CountService.totalPages(countService.countNews(),5));
         return "news_list";
     }
 }
@@ -1,16 +1,19 @@
 package com.demo.controller.user;
 
 import com.demo.entity.Order;
-import com.demo.entity.User;
 import com.demo.entity.Venue;
+import com.demo.entity.vo.BookingResult;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
+import com.demo.entity.vo.SessionUser;
 import com.demo.entity.vo.VenueOrder;
+import com.demo.service.CountService;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
+import com.demo.service.Recurrence;
 import com.demo.service.VenueService;
-import com.demo.exception.LoginException;
+import com.demo.auth.LoginRequired;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -18,7 +21,6 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -32,18 +34,13 @@ public class OrderController {
     private OrderVoService orderVoService;
     @Autowired
     private VenueService venueService;
+    @Autowired
+    private CountService countService;
 
+    @LoginRequired
     @GetMapping("/order_manage")
-    public String order_manage(Model model,HttpServletRequest request){
-        Pageable order_pageable = PageRequest.of(0,5, Sort.by("orderTime").descending());
-        Object user=request.getSession().getAttribute("user");
-        if(user==null) {
-            throw new LoginException("请登录！");
-        }
-        User loginUser=(User)user;
-        Page<Order> page=orderService.findUserOrder(loginUser.getUserID(),order_pageable);
-
-        model.addAttribute("total",page.getTotalPages());
+    public String order_manage(Model model,SessionUser loginUser){
+        model.addAttribute("total",CountService.totalPages(countService.countUserOrders(loginUser.getUserID()),5));
         return "order_manage";
     }
 
@@ -60,33 +57,51 @@ public class OrderController {
         return "order_place";
     }
 
+    @LoginRequired
     @GetMapping("/getOrderList.do")
     @ResponseBody
-    public List<OrderVo> order_list(@RequestParam(value = "page",defaultValue = "1")int page, HttpServletRequest request){
+    public List<OrderVo> order_list(@RequestParam(value = "page",defaultValue = "1")int page, SessionUser loginUser){
         Pageable order_pageable = PageRequest.of(page-1,5, Sort.by("orderTime").descending());
-        Object user=request.getSession().getAttribute("user");
-        if(user==null) {
-            throw new LoginException("请登录！");
-        }
-        User loginUser=(User)user;
-        Page<Order> page1=orderService.findUserOrder(loginUser.getUserID(),order_pageable);
-        return orderVoService.returnVo(page1.getContent());
+        return orderVoService.findUserOrderVo(loginUser.getUserID(),order_pageable).getContent();
+    }
+
+    /**
+     * 游标分页查看用户订单，返回下一页游标，深翻页不做 offset 和 count
+     */
+    @LoginRequired
+    @GetMapping("/order/getOrderFeed.do")
+    @ResponseBody
+    public CursorPage<OrderVo> order_feed(@RequestParam(value = "cursor",required = false)String cursor,
+                                          @RequestParam(value = "size",defaultValue = "5")int size, SessionUser loginUser){
+        return orderVoService.findUserOrderFeed(loginUser.getUserID(),cursor,Math.min(Math.max(size,1),50));
     }
 
+    @LoginRequired
     @PostMapping("/addOrder.do")
-    public void addOrder(String venueName, String date, String startTime, int hours,HttpServletRequest request, HttpServletResponse response) throws Exception {
+    public void addOrder(String venueName, String date, String startTime, int hours,SessionUser loginUser, HttpServletResponse response) throws Exception {
         date=startTime+":00";
         DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         LocalDateTime ldt = LocalDateTime.parse(date,df);
-        Object user=request.getSession().getAttribute("user");
-        if(user==null) {
-            throw new LoginException("请登录！");
-        }
-        User loginUser=(User)user;
         orderService.submit(venueName,ldt,hours,loginUser.getUserID());
         response.sendRedirect("order_manage");
     }
 
+    /**
+     * 周期预约，返回每一次的预约结果
+     * @param startTime 第一次的开始时间，格式 yyyy-MM-dd HH:mm
+     * @param recurrence DAILY 或 WEEKLY
+     * @param occurrences 重复次数
+     */
+    @LoginRequired
+    @PostMapping("/addRecurringOrder.do")
+    @ResponseBody
+    public List<BookingResult> addRecurringOrder(String venueName, String startTime, int hours, Recurrence recurrence,
+                                                 int occurrences, SessionUser loginUser) {
+        DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        LocalDateTime ldt = LocalDateTime.parse(startTime+":00",df);
+        return orderService.submitRecurring(venueName,ldt,hours,recurrence,occurrences,loginUser.getUserID());
+    }
+
     @PostMapping("/finishOrder.do")
     @ResponseBody
     public void finishOrder(int orderID) {
@@ -102,17 +117,13 @@ public class OrderController {
         return "order_edit";
     }
 
+    @LoginRequired
     @PostMapping("/modifyOrder")
     @ResponseBody
-    public boolean modifyOrder(String venueName, String date, String startTime, int hours,int orderID, HttpServletRequest request, HttpServletResponse response) throws Exception {
+    public boolean modifyOrder(String venueName, String date, String startTime, int hours,int orderID, SessionUser loginUser, HttpServletResponse response) throws Exception {
         date=startTime+":00";
         DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         LocalDateTime ldt = LocalDateTime.parse(date,df);
-        Object user=request.getSession().getAttribute("user");
-        if(user==null) {
-            throw new LoginException("请登录！");
-        }
-        User loginUser=(User)user;
         orderService.updateOrder(orderID,venueName,ldt,hours,loginUser.getUserID());
         response.sendRedirect("order_manage");
         return true;
@@ -1,9 +1,11 @@
 package com.demo.controller.user;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.SessionUser;
+import com.demo.service.ImageService;
 import com.demo.service.UserService;
-import com.demo.utils.FileUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +20,8 @@ import java.util.Objects;
 public class UserController {
     @Autowired
     private UserService userService;
+    @Autowired
+    private ImageService imageService;
 
     @GetMapping("/signup")
     public String signUp(){
@@ -38,12 +42,12 @@ public class UserController {
         User user=userService.checkLogin(userID,password);
         if(user!=null){
             if(user.getIsadmin()==0){
-                request.getSession().setAttribute("user",user);
+                request.getSession().setAttribute("user",SessionUser.of(user));
                 System.out.println("user login!");
                 return "/index";
             }
             else if(user.getIsadmin()==1){
-                request.getSession().setAttribute("admin",user);
+                request.getSession().setAttribute("admin",SessionUser.of(user));
                 System.out.println("admin login!");
                 return "/admin_index";
             }
@@ -62,7 +66,13 @@ public class UserController {
         user.setEmail(email);
         user.setPhone(phone);
         user.setPicture("");
-        userService.create(user);
+        try {
+            userService.create(user);
+        } catch (DataIntegrityViolationException e) {
+            // checkUserID 之后被抢注，由 userID 唯一索引拦下
+            response.sendError(HttpServletResponse.SC_CONFLICT, "用户名已存在");
+            return;
+        }
         response.sendRedirect("login");
     }
 
@@ -90,13 +100,26 @@ public class UserController {
         }
         user.setEmail(email);
         user.setPhone(phone);
-        if(!Objects.equals(picture.getOriginalFilename(), "")){
-            user.setPicture(FileUtil.saveUserFile(picture));
+        String oldPicture=user.getPicture();
+        boolean replaced=!Objects.equals(picture.getOriginalFilename(), "");
+        if(replaced){
+            user.setPicture(imageService.saveUserPicture(picture));
         }
 
-        userService.updateUser(user);
+        try {
+            userService.updateUser(user);
+        } catch (RuntimeException e) {
+            // 保存失败时新头像没有被引用，退回 saveUserPicture 加上的引用
+            if(replaced){
+                imageService.release(user.getPicture());
+            }
+            throw e;
+        }
+        if(replaced){
+            imageService.release(oldPicture);
+        }
         request.getSession().removeAttribute("user");
-        request.getSession().setAttribute("user",user);
+        request.getSession().setAttribute("user",SessionUser.of(user));
         response.sendRedirect("user_info");
     }
 
@@ -110,7 +133,10 @@ public class UserController {
     }
 
     @GetMapping("/user_info")
-    public String user_info(Model model){
+    public String user_info(Model model,SessionUser loginUser){
+        if(loginUser!=null) {
+            model.addAttribute("profile",userService.findProfile(loginUser.getId()));
+        }
         return "user_info";
     }
 }
@@ -1,6 +1,8 @@
 package com.demo.controller.user;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.VenueSummary;
+import com.demo.service.VenueSearchService;
 import com.demo.service.VenueService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +16,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Controller
 public class VenueController {
     @Autowired
     private VenueService venueService;
+    @Autowired
+    private VenueSearchService venueSearchService;
 
     /**
      * 场馆详情页面
@@ -37,18 +46,39 @@ public class VenueController {
      */
     @ResponseBody
     @GetMapping("/venuelist/getVenueList")
-    public Page<Venue> venue_list(@RequestParam(value = "page",defaultValue = "1")int page){
+    public Page<VenueSummary> venue_list(@RequestParam(value = "page",defaultValue = "1")int page){
         System.out.println("success");
         Pageable venue_pageable= PageRequest.of(page-1,5, Sort.by("venueID").ascending());
-        return venueService.findAll(venue_pageable);
+        return venueService.findSummaries(venue_pageable);
+    }
+
+    /**
+     * 查询某天某时段所有空闲的场馆
+     * @param date yyyy-MM-dd
+     * @param startHour 开始整点
+     * @param endHour 结束整点（不含）
+     * 日期格式或时段不合法时返回 400
+     */
+    @ResponseBody
+    @GetMapping("/venue/getFreeVenues")
+    public List<VenueSummary> free_venues(@RequestParam("date") String date, int startHour, int endHour,
+                                          HttpServletResponse response) throws IOException {
+        List<Venue> venues;
+        try {
+            venues=venueSearchService.findFreeVenues(LocalDate.parse(date),startHour,endHour);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return null;
+        }
+        return venues.stream().map(VenueSummary::of).collect(Collectors.toList());
     }
 
     @GetMapping("/venue_list")
     public String venue_list(Model model){
         Pageable venue_pageable= PageRequest.of(0,5, Sort.by("venueID").ascending());
-        List<Venue> venue_list=venueService.findAll(venue_pageable).getContent();
-        model.addAttribute("venue_list",venue_list);
-        model.addAttribute("total", venueService.findAll(venue_pageable).getTotalPages());
+        Page<Venue> venues=venueService.findAll(venue_pageable);
+        model.addAttribute("venue_list",venues.getContent());
+        model.addAttribute("total", venues.getTotalPages());
         return "venue_list";
     }
 
@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface MessageDao extends JpaRepository<Message,Integer> {
     Message findByMessageID(int messageID);
@@ -16,9 +19,36 @@ public interface MessageDao extends JpaRepository<Message,Integer> {
     
     Page<Message> findAllByState(int state,Pageable pageable);
 
+    long countByState(int state);
+
+    long countByUserID(String userID);
+
+    /**
+     * 游标分页：按 (time, messageID) 倒序，limit 由 pageable 给出，不做 count。
+     * time 可能为空，MySQL 倒序时空值排在最后，翻到空值之后用 findByStateAfterNullTime
+     */
+    List<Message> findByStateOrderByTimeDescMessageIDDesc(int state, Pageable limit);
+
+    @Query("select m from Message m where m.state = ?1 and (m.time < ?2 or (m.time = ?2 and m.messageID < ?3) or m.time is null) " +
+            "order by m.time desc, m.messageID desc")
+    List<Message> findByStateAfter(int state, LocalDateTime time, int messageID, Pageable limit);
+
+    @Query("select m from Message m where m.state = ?1 and m.time is null and m.messageID < ?2 order by m.messageID desc")
+    List<Message> findByStateAfterNullTime(int state, int messageID, Pageable limit);
+
     @Transactional
     @Modifying
-    @Query(value="update Message o set o.state=?1 where o.messageID=?2",nativeQuery =true)
+    @Query("update Message m set m.state = ?1 where m.messageID = ?2")
     void updateState(int state, int messageID);
 
+    /**
+     * 锁住给定id中处于 state 状态的留言并返回其id，需在事务中调用
+     */
+    @Query(value = "select m.messageID from message m where m.messageID in ?1 and m.state = ?2 for update", nativeQuery = true)
+    List<Integer> lockIDsInState(Collection<Integer> messageIDs, int state);
+
+    @Modifying
+    @Query("update Message m set m.state = ?3 where m.messageID in ?1 and m.state = ?2")
+    int updateStateIn(Collection<Integer> messageIDs, int expected, int state);
+
 }
@@ -1,8 +1,33 @@
 package com.demo.dao;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.NewsSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface NewsDao extends JpaRepository<News,Integer> {
 
+    /**
+     * 游标分页：按 (time, newsID) 倒序，limit 由 pageable 给出，不做 count。
+     * time 可能为空，MySQL 倒序时空值排在最后，翻到空值之后用 findAfterNullTime
+     */
+    List<News> findAllByOrderByTimeDescNewsIDDesc(Pageable limit);
+
+    @Query("select n from News n where n.time < ?1 or (n.time = ?1 and n.newsID < ?2) or n.time is null " +
+            "order by n.time desc, n.newsID desc")
+    List<News> findAfter(LocalDateTime time, int newsID, Pageable limit);
+
+    @Query("select n from News n where n.time is null and n.newsID < ?1 order by n.newsID desc")
+    List<News> findAfterNullTime(int newsID, Pageable limit);
+
+    /**
+     * 列表页只查摘要，正文在数据库里截断，排序和 limit 由 pageable 给出，不做 count
+     */
+    @Query("select new com.demo.entity.vo.NewsSummary(n.newsID, n.title, substring(n.content, 1, "
+            + NewsSummary.PREVIEW_LENGTH + "), n.time) from News n")
+    List<NewsSummary> findSummaries(Pageable pageable);
 }
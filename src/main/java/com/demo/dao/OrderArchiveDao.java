@@ -0,0 +1,46 @@
+package com.demo.dao;
+
+import com.demo.entity.Order;
+import com.demo.entity.OrderArchive;
+import com.demo.entity.vo.OrderVo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderArchiveDao extends JpaRepository<OrderArchive,Integer>, OrderArchiveDaoCustom {
+
+    /**
+     * 归档订单以 Order 的形式返回，调用方不用区分冷热数据
+     */
+    @Query("select new com.demo.entity.Order(a.orderID, a.userID, a.venueID, a.state, a.orderTime, a.startTime, a.hours, a.total) " +
+            "from OrderArchive a where a.venueID = ?1 and a.startTime >= ?2 and a.startTime < ?3")
+    List<Order> findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
+
+    long countByUserID(String userID);
+
+    /**
+     * 游标分页：与 OrderDao 的同名查询一致，按 (orderTime, orderID) 倒序，用于在实时表之后接着翻归档
+     */
+    @Query("select new com.demo.entity.vo.OrderVo(a.orderID, a.userID, a.venueID, v.venueName, a.state, " +
+            "a.orderTime, a.startTime, a.hours, a.total) from OrderArchive a, Venue v where v.venueID = a.venueID and a.userID = ?1 " +
+            "order by a.orderTime desc, a.orderID desc")
+    List<OrderVo> findVoFeedByUserID(String userID, Pageable limit);
+
+    @Query("select new com.demo.entity.vo.OrderVo(a.orderID, a.userID, a.venueID, v.venueName, a.state, " +
+            "a.orderTime, a.startTime, a.hours, a.total) from OrderArchive a, Venue v where v.venueID = a.venueID and a.userID = ?1 " +
+            "and (a.orderTime < ?2 or (a.orderTime = ?2 and a.orderID < ?3)) order by a.orderTime desc, a.orderID desc")
+    List<OrderVo> findVoFeedByUserIDAfter(String userID, LocalDateTime orderTime, int orderID, Pageable limit);
+
+    @Query("select new com.demo.entity.vo.OrderVo(a.orderID, a.userID, a.venueID, v.venueName, a.state, " +
+            "a.orderTime, a.startTime, a.hours, a.total) from OrderArchive a, Venue v where v.venueID = a.venueID and a.state = ?1 " +
+            "order by a.orderTime desc, a.orderID desc")
+    List<OrderVo> findVoFeedByState(int state, Pageable limit);
+
+    @Query("select new com.demo.entity.vo.OrderVo(a.orderID, a.userID, a.venueID, v.venueName, a.state, " +
+            "a.orderTime, a.startTime, a.hours, a.total) from OrderArchive a, Venue v where v.venueID = a.venueID and a.state = ?1 " +
+            "and (a.orderTime < ?2 or (a.orderTime = ?2 and a.orderID < ?3)) order by a.orderTime desc, a.orderID desc")
+    List<OrderVo> findVoFeedByStateAfter(int state, LocalDateTime orderTime, int orderID, Pageable limit);
+}
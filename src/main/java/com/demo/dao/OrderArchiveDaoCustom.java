@@ -0,0 +1,19 @@
+package com.demo.dao;
+
+import com.demo.entity.vo.OrderVo;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderArchiveDaoCustom {
+
+    /**
+     * 把 order 表中给定id的订单整行复制到归档表，需与删除在同一事务中调用
+     */
+    int copyFromOrder(Collection<Integer> orderIDs);
+
+    /**
+     * 用户的归档订单按 (orderTime, orderID) 倒序跳过 offset 条后取 limit 条；offset 不必是 limit 的整数倍
+     */
+    List<OrderVo> findVoByUserID(String userID, int offset, int limit);
+}
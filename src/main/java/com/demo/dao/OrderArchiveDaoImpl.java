@@ -0,0 +1,45 @@
+package com.demo.dao;
+
+import com.demo.entity.OrderArchive;
+import com.demo.entity.vo.OrderVo;
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * OrderArchiveDao 的自定义实现。归档任务按批执行原生 insert ... select，声明只影响 order_archive，
+ * 避免每一批都清空整个二级缓存
+ */
+public class OrderArchiveDaoImpl implements OrderArchiveDaoCustom {
+    private static final String COPY_SQL = "insert into order_archive (orderID, userID, venueID, order_time, start_time, hours, state, total, archive_time) " +
+            "select o.orderID, o.userID, o.venueID, o.order_time, o.start_time, o.hours, o.state, o.total, now() " +
+            "from `order` o where o.orderID in ?1";
+
+    private static final String USER_VO_JPQL = "select new com.demo.entity.vo.OrderVo(a.orderID, a.userID, a.venueID, v.venueName, a.state, " +
+            "a.orderTime, a.startTime, a.hours, a.total) from OrderArchive a, Venue v where v.venueID = a.venueID and a.userID = ?1 " +
+            "order by a.orderTime desc, a.orderID desc";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int copyFromOrder(Collection<Integer> orderIDs) {
+        return entityManager.createNativeQuery(COPY_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(OrderArchive.class)
+                .setParameter(1, orderIDs)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<OrderVo> findVoByUserID(String userID, int offset, int limit) {
+        return entityManager.createQuery(USER_VO_JPQL, OrderVo.class)
+                .setParameter(1, userID)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
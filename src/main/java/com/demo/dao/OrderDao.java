@@ -1,6 +1,7 @@
 package com.demo.dao;
 
 import com.demo.entity.Order;
+import com.demo.entity.vo.OrderVo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,23 +10,116 @@ import org.springframework.data.jpa.repository.Query;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface OrderDao extends JpaRepository<Order,Integer> {
+public interface OrderDao extends JpaRepository<Order,Integer>, OrderDaoCustom {
 
     Order findByOrderID(int orderID);
 
     Page<Order> findAllByState(int state,Pageable pageable);
 
-    List<Order> findByVenueIDAndStartTimeIsBetween(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
+    long countByState(int state);
+
+    long countByUserID(String userID);
+
+    /**
+     * 开始时间在 [startTime, startTime2) 内，与内存索引按天划分的方式一致
+     */
+    List<Order> findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
+
+    List<Order> findByStateInAndStartTimeGreaterThanEqual(Collection<Integer> states, LocalDateTime startTime);
+
+    long countByStateInAndStartTimeGreaterThanEqual(Collection<Integer> states, LocalDateTime startTime);
+
+    List<Order> findByStateInAndStartTimeGreaterThanEqualAndStartTimeLessThan(Collection<Integer> states,
+                                                                             LocalDateTime startTime, LocalDateTime startTime2);
+
+    /**
+     * 与 [startTime, endTime) 重叠的有效订单数，失效订单(state=4)不占用时段
+     */
+    @Query(value = "select count(*) from `order` o where o.venueID = ?1 and o.state <> 4 and o.orderID <> ?4 " +
+            "and o.start_time < ?3 and date_add(o.start_time, interval o.hours hour) > ?2", nativeQuery = true)
+    int countOverlap(int venueID, LocalDateTime startTime, LocalDateTime endTime, int excludeOrderID);
+
+    /**
+     * 与 [startTime, endTime) 重叠的有效订单，周期预约用一次查询校验全部时段
+     */
+    @Query(value = "select * from `order` o where o.venueID = ?1 and o.state <> 4 " +
+            "and o.start_time < ?3 and date_add(o.start_time, interval o.hours hour) > ?2", nativeQuery = true)
+    List<Order> findOverlapping(int venueID, LocalDateTime startTime, LocalDateTime endTime);
 
     @Query(value = "select * from `order` o where o.state = ?1 or o.state = ?2 ", nativeQuery = true)
     List<Order> findAudit(int state1,int state2);
 
     Page<Order> findAllByUserID(String userID, Pageable pageable);
 
+    /**
+     * 订单与场馆一次 join 查出 OrderVo，避免逐行查询场馆
+     */
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID, o.userID, o.venueID, v.venueName, o.state, " +
+            "o.orderTime, o.startTime, o.hours, o.total) from Order o, Venue v where v.venueID = o.venueID and o.state = ?1",
+            countQuery = "select count(o) from Order o where o.state = ?1")
+    Page<OrderVo> findVoByState(int state, Pageable pageable);
+
+    /**
+     * 游标分页：单个状态按 (orderTime, orderID) 倒序，走 (state, order_time) 索引
+     */
+    @Query("select new com.demo.entity.vo.OrderVo(o.orderID, o.userID, o.venueID, v.venueName, o.state, " +
+            "o.orderTime, o.startTime, o.hours, o.total) from Order o, Venue v where v.venueID = o.venueID and o.state = ?1 " +
+            "order by o.orderTime desc, o.orderID desc")
+    List<OrderVo> findVoFeedByState(int state, Pageable limit);
+
+    @Query("select new com.demo.entity.vo.OrderVo(o.orderID, o.userID, o.venueID, v.venueName, o.state, " +
+            "o.orderTime, o.startTime, o.hours, o.total) from Order o, Venue v where v.venueID = o.venueID and o.state = ?1 " +
+            "and (o.orderTime < ?2 or (o.orderTime = ?2 and o.orderID < ?3)) order by o.orderTime desc, o.orderID desc")
+    List<OrderVo> findVoFeedByStateAfter(int state, LocalDateTime orderTime, int orderID, Pageable limit);
+
+    /**
+     * 游标分页：按 (orderTime, orderID) 倒序，limit 由 pageable 给出，不做 count
+     */
+    @Query("select new com.demo.entity.vo.OrderVo(o.orderID, o.userID, o.venueID, v.venueName, o.state, " +
+            "o.orderTime, o.startTime, o.hours, o.total) from Order o, Venue v where v.venueID = o.venueID and o.userID = ?1 " +
+            "order by o.orderTime desc, o.orderID desc")
+    List<OrderVo> findVoFeedByUserID(String userID, Pageable limit);
+
+    @Query("select new com.demo.entity.vo.OrderVo(o.orderID, o.userID, o.venueID, v.venueName, o.state, " +
+            "o.orderTime, o.startTime, o.hours, o.total) from Order o, Venue v where v.venueID = o.venueID and o.userID = ?1 " +
+            "and (o.orderTime < ?2 or (o.orderTime = ?2 and o.orderID < ?3)) order by o.orderTime desc, o.orderID desc")
+    List<OrderVo> findVoFeedByUserIDAfter(String userID, LocalDateTime orderTime, int orderID, Pageable limit);
+
+    /**
+     * 仅当订单当前状态为 expected 时改为 state
+     * @return 受影响行数，0 表示订单不存在或状态已被改变
+     */
     @Transactional
     @Modifying
-    @Query(value="update `order` o set o.state=?1 where o.orderID=?2",nativeQuery =true)
-    void updateState(int state, int orderID);
+    @Query("update Order o set o.state = ?3 where o.orderID = ?1 and o.state = ?2")
+    int compareAndSetState(int orderID, int expected, int state);
+
+    /**
+     * 锁住给定id中处于 state 状态的订单并返回其id，需在事务中调用
+     */
+    @Query(value = "select o.orderID from `order` o where o.orderID in ?1 and o.state = ?2 for update", nativeQuery = true)
+    List<Integer> lockIDsInState(Collection<Integer> orderIDs, int state);
+
+    @Modifying
+    @Query("update Order o set o.state = ?3 where o.orderID in ?1 and o.state = ?2")
+    int updateStateIn(Collection<Integer> orderIDs, int expected, int state);
+
+    /**
+     * 锁住一批开始时间早于 before 且处于 state 状态的订单，走 (state, start_time) 索引，需在事务中调用
+     */
+    @Query(value = "select o.orderID from `order` o where o.state = ?1 and o.start_time < ?2 limit ?3 for update", nativeQuery = true)
+    List<Integer> lockStartedInState(int state, LocalDateTime before, int limit);
+
+    /**
+     * 锁住一批开始时间早于 before 且处于给定状态的订单，供归档使用，需在事务中调用
+     */
+    @Query(value = "select o.orderID from `order` o where o.state in ?1 and o.start_time < ?2 limit ?3 for update", nativeQuery = true)
+    List<Integer> lockArchivable(Collection<Integer> states, LocalDateTime before, int limit);
+
+    @Modifying
+    @Query("delete from Order o where o.orderID in ?1")
+    int deleteByIDs(Collection<Integer> orderIDs);
 }
@@ -0,0 +1,14 @@
+package com.demo.dao;
+
+import com.demo.entity.Order;
+
+import java.util.List;
+
+public interface OrderDaoCustom {
+
+    /**
+     * JDBC 批量插入订单并回填 orderID，需在事务中调用
+     * @param orders
+     */
+    void batchInsert(List<Order> orders);
+}
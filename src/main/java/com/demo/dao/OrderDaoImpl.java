@@ -0,0 +1,52 @@
+package com.demo.dao;
+
+import com.demo.entity.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * OrderDao 的自定义实现。IDENTITY 主键下 Hibernate 不做批量插入，这里直接用 JDBC batch
+ */
+public class OrderDaoImpl implements OrderDaoCustom {
+    private static final String INSERT_SQL = "insert into `order` (userID, venueID, order_time, start_time, hours, state, total) " +
+            "values (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Order order : orders) {
+                    ps.setString(1, order.getUserID());
+                    ps.setInt(2, order.getVenueID());
+                    ps.setTimestamp(3, Timestamp.valueOf(order.getOrderTime()));
+                    ps.setTimestamp(4, Timestamp.valueOf(order.getStartTime()));
+                    ps.setInt(5, order.getHours());
+                    ps.setInt(6, order.getState());
+                    ps.setInt(7, order.getTotal());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        orders.get(i++).setOrderID(keys.getInt(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.demo.dao;
+
+import com.demo.entity.StoredFile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StoredFileDao extends JpaRepository<StoredFile,String>, StoredFileDaoCustom {
+
+    @Query("select f.path from StoredFile f where f.refCount <= 0 and f.updateTime < ?1 order by f.updateTime")
+    List<String> findOrphans(LocalDateTime before, Pageable limit);
+
+    /**
+     * 锁住仍可回收的行；回收期间同一内容的上传在 retain 处等待
+     */
+    @Query(value = "select path from stored_file where path = ?1 and ref_count <= 0 and update_time < ?2 for update",
+            nativeQuery = true)
+    String lockOrphan(String path, LocalDateTime before);
+}
@@ -0,0 +1,26 @@
+package com.demo.dao;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+public interface StoredFileDaoCustom {
+
+    /**
+     * 引用计数加一，文件第一次出现时插入
+     */
+    @Transactional
+    int retain(String path, String hash, long size, LocalDateTime now);
+
+    /**
+     * 引用计数减一，不会减到负数；不在表里的旧文件不受影响
+     */
+    @Transactional
+    int release(String path, LocalDateTime now);
+
+    /**
+     * 按场馆、用户表重新计算 before 之前最后改动的文件的引用数：待回收的文件全部重算，漏掉的 retain
+     * 不会导致仍在使用的文件被删；since 之后改动过的也重算，保存失败多出的引用不会让文件一直留着
+     */
+    @Transactional
+    int recount(LocalDateTime before, LocalDateTime since);
+}
@@ -0,0 +1,60 @@
+package com.demo.dao;
+
+import com.demo.entity.StoredFile;
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.time.LocalDateTime;
+
+/**
+ * StoredFileDao 的自定义实现。上传和替换图片都会执行这些原生 SQL，声明只影响 stored_file，
+ * 避免 Hibernate 清空场馆、用户所在的二级缓存
+ */
+public class StoredFileDaoImpl implements StoredFileDaoCustom {
+    private static final String RETAIN_SQL = "insert into stored_file (path, hash, size, ref_count, update_time) values (?1, ?2, ?3, 1, ?4) " +
+            "on duplicate key update ref_count = ref_count + 1, update_time = values(update_time)";
+
+    private static final String RELEASE_SQL = "update stored_file set ref_count = ref_count - 1, update_time = ?2 " +
+            "where path = ?1 and ref_count > 0";
+
+    private static final String RECOUNT_SQL = "update stored_file f set f.ref_count = " +
+            "(select count(*) from venue v where v.picture = f.path) + (select count(*) from `user` u where u.picture = f.path) " +
+            "where f.update_time < ?1 and (f.ref_count <= 0 or f.update_time >= ?2)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int retain(String path, String hash, long size, LocalDateTime now) {
+        return fileQuery(RETAIN_SQL)
+                .setParameter(1, path)
+                .setParameter(2, hash)
+                .setParameter(3, size)
+                .setParameter(4, now)
+                .executeUpdate();
+    }
+
+    @Override
+    public int release(String path, LocalDateTime now) {
+        return fileQuery(RELEASE_SQL)
+                .setParameter(1, path)
+                .setParameter(2, now)
+                .executeUpdate();
+    }
+
+    @Override
+    public int recount(LocalDateTime before, LocalDateTime since) {
+        return fileQuery(RECOUNT_SQL)
+                .setParameter(1, before)
+                .setParameter(2, since)
+                .executeUpdate();
+    }
+
+    private Query fileQuery(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(StoredFile.class);
+    }
+}
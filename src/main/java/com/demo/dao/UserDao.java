@@ -1,14 +1,37 @@
 package com.demo.dao;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.UserSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 
 public interface UserDao extends JpaRepository<User,Integer> {
     User findByUserIDAndPassword(String userID, String password);
     User findByUserID(String userID);
+    List<User> findByUserIDIn(Collection<String> userIDs);
     Page<User> findAllByIsadmin(int isadmin, Pageable pageable);
     int countByUserID(String userID);
+
+    /**
+     * 走查询缓存，命中时实体从二级缓存取，不访问数据库
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     User findById(int id);
+
+    @Query("select u.userID from User u")
+    List<String> findAllUserIDs();
+
+    /**
+     * 用户管理列表只查需要显示的列，不查密码；排序和 limit 由 pageable 给出，不做 count
+     */
+    @Query("select new com.demo.entity.vo.UserSummary(u.id, u.userID, u.userName, u.email, u.phone) " +
+            "from User u where u.isadmin = ?1")
+    List<UserSummary> findSummariesByIsadmin(int isadmin, Pageable pageable);
 }
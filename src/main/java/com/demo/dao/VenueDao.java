@@ -2,8 +2,10 @@ package com.demo.dao;
 
 import com.demo.entity.Venue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
 import java.util.List;
 
 public interface VenueDao extends JpaRepository<Venue, Integer> {
@@ -17,4 +19,11 @@ public interface VenueDao extends JpaRepository<Venue, Integer> {
 
     int countByVenueName(String venueName);
 
+    /**
+     * select ... for update，同一场馆的预约在多个节点间串行执行，需在事务中调用
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Venue v where v.venueID = ?1")
+    Venue lockByVenueID(int venueID);
+
 }
@@ -0,0 +1,21 @@
+package com.demo.dao;
+
+import com.demo.entity.VenueDayStat;
+import com.demo.entity.vo.VenueStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VenueDayStatDao extends JpaRepository<VenueDayStat,Integer>, VenueDayStatDaoCustom {
+
+    /**
+     * 按场馆汇总 [from, to] 之间的日数据
+     */
+    @Query("select new com.demo.entity.vo.VenueStat(v.venueID, v.venueName, sum(s.bookedHours), sum(s.revenue), " +
+            "sum(s.noAudit), sum(s.audited), sum(s.finished), sum(s.rejected)) " +
+            "from VenueDayStat s, Venue v where v.venueID = s.venueID and s.statDate between ?1 and ?2 " +
+            "group by v.venueID, v.venueName order by v.venueID")
+    List<VenueStat> sumByVenue(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,27 @@
+package com.demo.dao;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface VenueDayStatDaoCustom {
+
+    /**
+     * 把增量累加到 (venueID, statDate) 这一行，不存在时插入
+     */
+    @Transactional
+    int add(int venueID, LocalDate statDate, long bookedHours, long revenue, int noAudit, int audited, int finished, int rejected);
+
+    /**
+     * 按订单id把状态变化的增量累加到各自的场馆和日期，hours、total 乘以 valueSign
+     */
+    @Transactional
+    int addTransition(Collection<Integer> orderIDs, int valueSign, int noAudit, int audited, int finished, int rejected);
+
+    int clear();
+
+    /**
+     * 从 order 和 order_archive 全量重新汇总，需在事务中与 clear 一起调用
+     */
+    int rebuildFromOrders();
+}
@@ -0,0 +1,79 @@
+package com.demo.dao;
+
+import com.demo.entity.VenueDayStat;
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * VenueDayStatDao 的自定义实现。每次订单变化都会执行原生 SQL，
+ * 不声明影响的表时 Hibernate 会清空整个二级缓存，这里声明只影响 venue_day_stat
+ */
+public class VenueDayStatDaoImpl implements VenueDayStatDaoCustom {
+    private static final String UPSERT = "on duplicate key update booked_hours = booked_hours + values(booked_hours), " +
+            "revenue = revenue + values(revenue), no_audit = no_audit + values(no_audit), audited = audited + values(audited), " +
+            "finished = finished + values(finished), rejected = rejected + values(rejected)";
+
+    private static final String ADD_SQL = "insert into venue_day_stat (venueID, stat_date, booked_hours, revenue, no_audit, audited, finished, rejected) " +
+            "values (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8) " + UPSERT;
+
+    private static final String ADD_TRANSITION_SQL = "insert into venue_day_stat (venueID, stat_date, booked_hours, revenue, no_audit, audited, finished, rejected) " +
+            "select o.venueID, date(o.start_time), o.hours * ?2, o.total * ?2, ?3, ?4, ?5, ?6 from `order` o where o.orderID in ?1 " + UPSERT;
+
+    private static final String REBUILD_SQL = "insert into venue_day_stat (venueID, stat_date, booked_hours, revenue, no_audit, audited, finished, rejected) " +
+            "select o.venueID, date(o.start_time), " +
+            "sum(case when o.state in (2, 3) then o.hours else 0 end), sum(case when o.state in (2, 3) then o.total else 0 end), " +
+            "sum(o.state = 1), sum(o.state = 2), sum(o.state = 3), sum(o.state = 4) " +
+            "from (select venueID, start_time, hours, total, state from `order` " +
+            "union all select venueID, start_time, hours, total, state from order_archive) o " +
+            "where o.start_time is not null group by o.venueID, date(o.start_time)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int add(int venueID, LocalDate statDate, long bookedHours, long revenue, int noAudit, int audited, int finished, int rejected) {
+        return statQuery(ADD_SQL)
+                .setParameter(1, venueID)
+                .setParameter(2, statDate)
+                .setParameter(3, bookedHours)
+                .setParameter(4, revenue)
+                .setParameter(5, noAudit)
+                .setParameter(6, audited)
+                .setParameter(7, finished)
+                .setParameter(8, rejected)
+                .executeUpdate();
+    }
+
+    @Override
+    public int addTransition(Collection<Integer> orderIDs, int valueSign, int noAudit, int audited, int finished, int rejected) {
+        return statQuery(ADD_TRANSITION_SQL)
+                .setParameter(1, orderIDs)
+                .setParameter(2, valueSign)
+                .setParameter(3, noAudit)
+                .setParameter(4, audited)
+                .setParameter(5, finished)
+                .setParameter(6, rejected)
+                .executeUpdate();
+    }
+
+    @Override
+    public int clear() {
+        return statQuery("delete from venue_day_stat").executeUpdate();
+    }
+
+    @Override
+    public int rebuildFromOrders() {
+        return statQuery(REBUILD_SQL).executeUpdate();
+    }
+
+    private Query statQuery(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(VenueDayStat.class);
+    }
+}
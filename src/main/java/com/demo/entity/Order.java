@@ -14,7 +14,11 @@ import java.util.Date;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name="`order`")
+@Table(name="`order`", indexes = {
+        @Index(name = "idx_venue_start", columnList = "venueID,start_time"),
+        @Index(name = "idx_user_order_time", columnList = "userID,order_time"),
+        @Index(name = "idx_state_order_time", columnList = "state,order_time"),
+        @Index(name = "idx_state_start", columnList = "state,start_time")})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,48 @@
+package com.demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 已完成、失效且超过保留期的订单，从 order 表整行搬来，保留原 orderID
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_archive", indexes = {
+        @Index(name = "idx_venue_start", columnList = "venueID,start_time"),
+        @Index(name = "idx_user_order_time", columnList = "userID,order_time"),
+        @Index(name = "idx_state_order_time", columnList = "state,order_time")})
+public class OrderArchive {
+    @Id
+    private int orderID;
+
+    private String userID;
+
+    private int venueID;
+
+    /**
+     * 3已完成 4失效
+     */
+    @Column(name="state")
+    private int state;
+
+    @Column(name="order_time")
+    private LocalDateTime orderTime;
+
+    @Column(name="start_time")
+    private LocalDateTime startTime;
+
+    private int hours;
+
+    private int total;
+
+    @Column(name="archive_time")
+    private LocalDateTime archiveTime;
+
+}
@@ -0,0 +1,37 @@
+package com.demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 按内容保存的上传文件，引用计数为场馆、用户中引用该路径的记录数
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stored_file", indexes = @Index(name = "idx_ref_update", columnList = "ref_count,update_time"))
+public class StoredFile {
+    /**
+     * 相对静态资源根目录的 url，如 file/venue/&lt;sha-256&gt;.png
+     */
+    @Id
+    private String path;
+
+    private String hash;
+
+    private long size;
+
+    @Column(name = "ref_count")
+    private int refCount;
+
+    /**
+     * 引用计数最后变化的时间，计数归零后超过保留时间才删除文件
+     */
+    @Column(name = "update_time")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,49 @@
+package com.demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 场馆按天汇总：订单写入和状态变化时增量维护，按开始日期归属
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "venue_day_stat",
+        uniqueConstraints = @UniqueConstraint(name = "uk_venue_date", columnNames = {"venueID", "stat_date"}),
+        indexes = @Index(name = "idx_stat_date", columnList = "stat_date"))
+public class VenueDayStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    private int venueID;
+
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    /**
+     * 已审核、已完成订单的预约小时数
+     */
+    @Column(name = "booked_hours")
+    private long bookedHours;
+
+    /**
+     * 已审核、已完成订单的金额
+     */
+    private long revenue;
+
+    @Column(name = "no_audit")
+    private int noAudit;
+
+    private int audited;
+
+    private int finished;
+
+    private int rejected;
+}
@@ -0,0 +1,20 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 周期预约中单次预约的结果，booked 为 false 时 orderID 为 0，message 说明原因
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingResult {
+    private LocalDateTime startTime;
+    private boolean booked;
+    private int orderID;
+    private String message;
+}
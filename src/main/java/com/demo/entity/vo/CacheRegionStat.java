@@ -0,0 +1,19 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一个二级缓存区域自启动或上次清零以来的命中情况
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStat {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio;
+}
@@ -0,0 +1,17 @@
+package com.demo.entity.vo;
+
+import com.demo.entity.News;
+import com.demo.entity.Venue;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 首页的三个栏目，列表只读，多个请求共用同一份
+ */
+@Value
+public class HomePage {
+    List<Venue> venueList;
+    List<News> newsList;
+    List<MessageVo> messageList;
+}
@@ -0,0 +1,30 @@
+package com.demo.entity.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 新闻列表的一行，正文只取开头，完整内容在详情页查
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsSummary {
+    /**
+     * preview 的最大字数，查询时在数据库里截断
+     */
+    public static final int PREVIEW_LENGTH = 100;
+
+    private int newsID;
+
+    private String title;
+
+    private String preview;
+
+    @JsonFormat(shape=JsonFormat.Shape.STRING, pattern="yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime time;
+}
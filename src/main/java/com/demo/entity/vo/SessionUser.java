@@ -0,0 +1,28 @@
+package com.demo.entity.vo;
+
+import com.demo.entity.User;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * 存在 session 里的登录用户，只保留身份和页头显示需要的字段，不含密码、邮箱、手机。
+ * 需要完整资料时用 UserService.findProfile(id)
+ */
+@Value
+public class SessionUser implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    int id;
+    String userID;
+    int isadmin;
+    String userName;
+    /**
+     * 头像 url，页头每个页面都要显示
+     */
+    String picture;
+
+    public static SessionUser of(User user) {
+        return new SessionUser(user.getId(), user.getUserID(), user.getIsadmin(), user.getUserName(), user.getPicture());
+    }
+}
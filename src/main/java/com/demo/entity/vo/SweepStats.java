@@ -0,0 +1,27 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 过期订单清理的运行统计
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepStats {
+    /**
+     * 启动以来的清理次数
+     */
+    private long runs;
+    /**
+     * 启动以来置为失效的订单总数
+     */
+    private long totalSwept;
+    private long lastSwept;
+    private long lastDurationMillis;
+    private LocalDateTime lastRunTime;
+}
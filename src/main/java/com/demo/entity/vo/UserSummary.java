@@ -0,0 +1,23 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户管理列表的一行，不含密码和头像
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private int id;
+
+    private String userID;
+
+    private String userName;
+
+    private String email;
+
+    private String phone;
+}
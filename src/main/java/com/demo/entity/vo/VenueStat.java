@@ -0,0 +1,22 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 场馆在一段时间内的汇总
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueStat {
+    private int venueID;
+    private String venueName;
+    private long bookedHours;
+    private long revenue;
+    private long noAudit;
+    private long audited;
+    private long finished;
+    private long rejected;
+}
@@ -0,0 +1,33 @@
+package com.demo.entity.vo;
+
+import com.demo.entity.Venue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 场馆列表的一行，不含介绍
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueSummary {
+    private int venueID;
+
+    private String venueName;
+
+    private int price;
+
+    private String picture;
+
+    private String address;
+
+    private String open_time;
+
+    private String close_time;
+
+    public static VenueSummary of(Venue venue) {
+        return new VenueSummary(venue.getVenueID(), venue.getVenueName(), venue.getPrice(), venue.getPicture(),
+                venue.getAddress(), venue.getOpen_time(), venue.getClose_time());
+    }
+}
@@ -1,19 +1,28 @@
 package com.demo.exception;
 
+/**
+ * 未登录。不记录调用栈，未登录请求很多时不占用 CPU
+ */
 public class LoginException extends RuntimeException {
+    /**
+     * 预先创建的实例，不可写调用栈、不可追加 suppressed，可以共享
+     */
+    public static final LoginException ANONYMOUS = new LoginException("请登录！");
+
     public LoginException() {
+        this((String) null);
     }
 
     public LoginException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public LoginException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public LoginException(Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
     }
 
     public LoginException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
@@ -0,0 +1,22 @@
+package com.demo.service;
+
+import com.demo.entity.vo.CacheRegionStat;
+
+import java.util.List;
+
+/**
+ * Hibernate 二级缓存和查询缓存的命中统计，用来调整 ehcache.xml 里的过期时间和条数上限
+ */
+public interface CacheStatService {
+
+    /**
+     * 各缓存区域的命中、未命中和写入次数，按区域名排序
+     * @return
+     */
+    List<CacheRegionStat> regions();
+
+    /**
+     * 统计清零，调整配置后重新观察
+     */
+    void reset();
+}
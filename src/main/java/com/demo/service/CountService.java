@@ -0,0 +1,55 @@
+package com.demo.service;
+
+/**
+ * 列表页的总条数计数器：第一次读取时 count 一次，之后随写操作增减，列表页算总页数不再查 count(*)。
+ * 并发写入可能带来很小的偏差，定时清空后重新统计
+ */
+public interface CountService {
+
+    long countNews();
+
+    long countMessages(int state);
+
+    /**
+     * 用户的全部留言，不分状态
+     */
+    long countUserMessages(String userID);
+
+    long countOrders(int state);
+
+    /**
+     * 用户的全部订单，不分状态，含已归档的；归档只是搬表，总数不变
+     */
+    long countUserOrders(String userID);
+
+    void newsAdded(int delta);
+
+    void messageAdded(String userID, int state);
+
+    void messageRemoved(String userID, int state);
+
+    void messagesMoved(int from, int to, int count);
+
+    /**
+     * 留言被直接修改、无法得知原状态时调用，下次读取重新统计
+     */
+    void invalidateMessages();
+
+    void orderAdded(String userID, int state, int count);
+
+    void orderRemoved(String userID, int state);
+
+    void ordersMoved(int from, int to, int count);
+
+    /**
+     * 批量删除订单（归档）后调用，下次读取重新统计
+     */
+    void invalidateOrders();
+
+    /**
+     * 与 Page.getTotalPages 相同的算法
+     */
+    static int totalPages(long rows, int size) {
+        return (int) ((rows + size - 1) / size);
+    }
+}
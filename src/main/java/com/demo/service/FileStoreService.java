@@ -0,0 +1,30 @@
+package com.demo.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 按内容寻址的上传文件存储：文件名为内容摘要，相同内容只保存一份，按引用计数回收
+ */
+public interface FileStoreService {
+
+    /**
+     * 保存文件并增加一次引用
+     * @param file
+     * @param dir 相对静态资源根目录的目录，如 FileUtil.VENUE_DIR
+     * @return 文件 url；文件为空时为空串
+     * @throws Exception
+     */
+    String store(MultipartFile file, String dir) throws Exception;
+
+    /**
+     * 场馆、用户不再使用该文件时减少一次引用
+     * @param url
+     */
+    void release(String url);
+
+    /**
+     * 删除引用数为零且超过保留时间的文件及其各尺寸图片
+     * @return 删除的文件数
+     */
+    int collectOrphans();
+}
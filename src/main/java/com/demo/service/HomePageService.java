@@ -0,0 +1,18 @@
+package com.demo.service;
+
+import com.demo.entity.vo.HomePage;
+
+/**
+ * 首页的场馆、新闻、留言三栏并行加载，各自缓存一小段时间。
+ * 修改场馆、新闻或审核留言后调用对应的 evict，下一次访问重新加载该栏
+ */
+public interface HomePageService {
+
+    HomePage load();
+
+    void evictVenues();
+
+    void evictNews();
+
+    void evictMessages();
+}
@@ -0,0 +1,32 @@
+package com.demo.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 图片上传：同步保存原图，缩略图、卡片图、大图在后台线程生成。
+ * 每次保存增加一次文件引用，场馆、用户换图或删除后需调用 release
+ */
+public interface ImageService {
+
+    /**
+     * 保存场馆图片
+     * @param picture
+     * @return 原图 url，各尺寸的地址由 PictureSize.variantOf 得到；未上传时为空串
+     * @throws Exception
+     */
+    String saveVenuePicture(MultipartFile picture) throws Exception;
+
+    /**
+     * 保存用户头像
+     * @param picture
+     * @return 原图 url；未上传时为空串
+     * @throws Exception
+     */
+    String saveUserPicture(MultipartFile picture) throws Exception;
+
+    /**
+     * 图片不再被某个场馆或用户使用
+     * @param url 原图 url，为空时忽略
+     */
+    void release(String url);
+}
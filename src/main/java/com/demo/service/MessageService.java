@@ -1,9 +1,12 @@
 package com.demo.service;
 
 import com.demo.entity.Message;
+import com.demo.entity.vo.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface MessageService {
 
     int STATE_NO_AUDIT=1;
@@ -40,8 +43,30 @@ public interface MessageService {
 
     void rejectMessage(int messageID);
 
+    /**
+     * 批量通过未审核留言
+     * @param messageIDs
+     * @return 实际被通过的留言id，不存在或已审核过的会被跳过
+     */
+    List<Integer> confirmMessages(List<Integer> messageIDs);
+
+    /**
+     * 批量拒绝未审核留言
+     * @param messageIDs
+     * @return 实际被拒绝的留言id
+     */
+    List<Integer> rejectMessages(List<Integer> messageIDs);
+
     Page<Message> findWaitState(Pageable pageable);
 
     Page<Message> findPassState(Pageable pageable);
 
+    /**
+     * 游标分页返回通过审核的留言，按时间倒序
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size
+     * @return
+     */
+    CursorPage<Message> findPassFeed(String cursor, int size);
+
 }
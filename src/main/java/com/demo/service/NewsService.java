@@ -1,6 +1,8 @@
 package com.demo.service;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.NewsSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable
         ;
@@ -15,4 +17,19 @@ public interface NewsService {
     void delById(int newsID);
 
     void update(News news);
+
+    /**
+     * 游标分页返回新闻，按时间倒序
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size
+     * @return
+     */
+    CursorPage<News> findFeed(String cursor, int size);
+
+    /**
+     * 分页查看新闻摘要，正文截断为 NewsSummary.PREVIEW_LENGTH 字
+     * @param pageable
+     * @return
+     */
+    Page<NewsSummary> findSummaries(Pageable pageable);
 }
@@ -0,0 +1,51 @@
+package com.demo.service;
+
+import com.demo.entity.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 场馆时段占用索引：按 (场馆, 日期) 保存 24 位小时位图，第 i 位表示 i:00-i+1:00 已被占用。
+ * 只收录未审核、已审核、已完成的订单，失效订单不占用时段。
+ */
+public interface OccupancyService {
+
+    /**
+     * 索引是否覆盖该日期，不覆盖时调用方应回退到数据库查询
+     * @param day
+     * @return
+     */
+    boolean covers(LocalDate day);
+
+    /**
+     * 某场馆某天的占用位图
+     * @param venueID
+     * @param day
+     * @return
+     */
+    int occupiedHours(int venueID, LocalDate day);
+
+    /**
+     * 某场馆某天占用时段的订单（副本）
+     * @param venueID
+     * @param day
+     * @return
+     */
+    List<Order> findDayOrders(int venueID, LocalDate day);
+
+    /**
+     * 新增或更新订单在索引中的位置
+     * @param order
+     */
+    void put(Order order);
+
+    void changeState(int orderID, int state);
+
+    void remove(int orderID);
+
+    /**
+     * 从数据库重建索引
+     */
+    void rebuild();
+}
@@ -0,0 +1,34 @@
+package com.demo.service;
+
+import com.demo.entity.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单冷热分离：开始时间超过保留期的已完成、失效订单移入 order_archive 表
+ */
+public interface OrderArchiveService {
+
+    /**
+     * 分批归档，每批在一个事务中复制到归档表并从 order 表删除
+     * @return 本次归档的订单数
+     */
+    int archive();
+
+    /**
+     * 开始时间不早于 startTime 的查询是否可能命中归档表
+     * @param startTime
+     * @return
+     */
+    boolean reaches(LocalDateTime startTime);
+
+    /**
+     * 归档表中某场馆开始时间在 [startTime, startTime2) 内的订单
+     * @param venueID
+     * @param startTime
+     * @param startTime2
+     * @return
+     */
+    List<Order> findDateOrder(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
+}
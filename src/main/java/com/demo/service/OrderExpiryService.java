@@ -0,0 +1,17 @@
+package com.demo.service;
+
+import com.demo.entity.vo.SweepStats;
+
+/**
+ * 开始时间已过仍未审核的订单自动置为失效，释放占用的时段
+ */
+public interface OrderExpiryService {
+
+    /**
+     * 分批清理，每批一个短事务
+     * @return 本次置为失效的订单数
+     */
+    int sweep();
+
+    SweepStats stats();
+}
@@ -1,6 +1,7 @@
 package com.demo.service;
 
 import com.demo.entity.Order;
+import com.demo.entity.vo.BookingResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -26,7 +27,9 @@ public interface OrderService {
 
     List<Order> findAuditOrder();
 
-
+    /**
+     * 某场馆开始时间在 [startTime, startTime2) 内、仍占用时段的订单，按开始时间排序
+     */
     List<Order> findDateOrder(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
 
     Page<Order> findUserOrder(String userID,Pageable pageable);
@@ -40,6 +43,20 @@ public interface OrderService {
      */
     void submit(String venueName, LocalDateTime startTime, int hours, String userID);
 
+    /**
+     * 周期预约：同一场馆同一时段按天或按周重复 occurrences 次。
+     * 有冲突的时段跳过，其余在一个事务中批量插入
+     * @param venueName
+     * @param startTime 第一次的开始时间
+     * @param hours
+     * @param recurrence
+     * @param occurrences
+     * @param userID
+     * @return 每一次预约的结果，顺序与时间一致
+     */
+    List<BookingResult> submitRecurring(String venueName, LocalDateTime startTime, int hours, Recurrence recurrence,
+                                        int occurrences, String userID);
+
     /**
      * 删除订单
      * @param orderID
@@ -63,4 +80,18 @@ public interface OrderService {
      * @param orderID
      */
     void rejectOrder(int orderID);
+
+    /**
+     * 批量通过未审核订单
+     * @param orderIDs
+     * @return 实际被通过的订单id，不存在或已不是未审核状态的会被跳过
+     */
+    List<Integer> confirmOrders(List<Integer> orderIDs);
+
+    /**
+     * 批量拒绝未审核订单
+     * @param orderIDs
+     * @return 实际被拒绝的订单id
+     */
+    List<Integer> rejectOrders(List<Integer> orderIDs);
 }
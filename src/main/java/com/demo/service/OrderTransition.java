@@ -0,0 +1,41 @@
+package com.demo.service;
+
+/**
+ * 订单状态机：1未审核 2已审核 3已完成 4失效。
+ * 每个转换只允许从一个确定的状态出发，执行时用 where state = from 的条件 update 完成，不需要先查再改
+ */
+public enum OrderTransition {
+    /**
+     * 通过预约
+     */
+    CONFIRM(OrderService.STATE_NO_AUDIT, OrderService.STATE_WAIT),
+    /**
+     * 完成订单
+     */
+    FINISH(OrderService.STATE_WAIT, OrderService.STATE_FINISH),
+    /**
+     * 拒绝预约
+     */
+    REJECT(OrderService.STATE_NO_AUDIT, OrderService.STATE_REJECT),
+    /**
+     * 开始时间已过仍未审核，自动失效
+     */
+    EXPIRE(OrderService.STATE_NO_AUDIT, OrderService.STATE_REJECT);
+
+    private final int from;
+
+    private final int to;
+
+    OrderTransition(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+}
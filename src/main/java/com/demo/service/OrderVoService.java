@@ -2,11 +2,46 @@ package com.demo.service;
 
 
 import com.demo.entity.Order;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
 public interface OrderVoService {
     OrderVo returnOrderVoByOrderID(int orderID);
     List<OrderVo> returnVo(List<Order> list);
+
+    /**
+     * 分页返回用户订单，订单与场馆名一次查询得到
+     * @param userID
+     * @param pageable
+     * @return
+     */
+    Page<OrderVo> findUserOrderVo(String userID, Pageable pageable);
+
+    /**
+     * 管理员分页查看未审核订单
+     * @param pageable
+     * @return
+     */
+    Page<OrderVo> findNoAuditOrderVo(Pageable pageable);
+
+    /**
+     * 游标分页返回已审核和已完成的订单，按下单时间倒序
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size
+     * @return
+     */
+    CursorPage<OrderVo> findAuditOrderFeed(String cursor, int size);
+
+    /**
+     * 游标分页返回用户订单，按下单时间倒序
+     * @param userID
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size
+     * @return
+     */
+    CursorPage<OrderVo> findUserOrderFeed(String userID, String cursor, int size);
 }
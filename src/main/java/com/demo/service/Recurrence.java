@@ -0,0 +1,30 @@
+package com.demo.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 周期预约的重复方式
+ */
+public enum Recurrence {
+    /**
+     * 每天同一时段
+     */
+    DAILY(1),
+    /**
+     * 每周同一时段
+     */
+    WEEKLY(7);
+
+    private final int days;
+
+    Recurrence(int days) {
+        this.days = days;
+    }
+
+    /**
+     * 第 n 次（从 0 开始）的开始时间
+     */
+    public LocalDateTime nth(LocalDateTime first, int n) {
+        return first.plusDays((long) days * n);
+    }
+}
@@ -1,9 +1,12 @@
 package com.demo.service;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.UserSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface UserService {
     /**
      * 根据用户id查找用户
@@ -13,6 +16,14 @@ public interface UserService {
      */
     User findByUserID(String userID);
     User findById(int id);
+
+    /**
+     * 登录用户的完整资料，带缓存；修改、删除用户时失效
+     *
+     * @param id
+     * @return 副本，不存在时为 null
+     */
+    User findProfile(int id);
     /**
      * 管理员分页查看用户
      *
@@ -21,6 +32,14 @@ public interface UserService {
      */
     Page<User> findByUserID(Pageable pageable);
 
+    /**
+     * 管理员分页查看用户，只返回列表显示的字段，不查密码
+     *
+     * @param pageable
+     * @return
+     */
+    List<UserSummary> findSummaries(Pageable pageable);
+
     /**
      * 检查登录
      *
@@ -34,10 +53,17 @@ public interface UserService {
      * 创建用户
      *
      * @param user
-     * @return
+     * @return 新用户的id
      */
     int create(User user);
 
+    /**
+     * 用户总数，由计数器维护，不查询用户表
+     *
+     * @return
+     */
+    long countUsers();
+
     /**
      * 根据id删除用户
      *
@@ -0,0 +1,18 @@
+package com.demo.service;
+
+import com.demo.entity.Venue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VenueSearchService {
+
+    /**
+     * 某天 [startHour, endHour) 整段空闲且在开放时间内的场馆
+     * @param day
+     * @param startHour
+     * @param endHour
+     * @return
+     */
+    List<Venue> findFreeVenues(LocalDate day, int startHour, int endHour);
+}
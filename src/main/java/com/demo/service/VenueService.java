@@ -1,6 +1,7 @@
 package com.demo.service;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.VenueSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -24,6 +25,13 @@ public interface VenueService {
     Page<Venue> findAll(Pageable pageable);
 
     List<Venue> findAll();
+
+    /**
+     * 分页查看场馆摘要，不含介绍
+     * @param pageable
+     * @return
+     */
+    Page<VenueSummary> findSummaries(Pageable pageable);
     /**
      * 创建新的场馆
      *
@@ -0,0 +1,42 @@
+package com.demo.service;
+
+import com.demo.entity.Order;
+import com.demo.entity.vo.VenueStat;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 场馆利用率和收入统计，订单写入时增量维护按天汇总，查询不扫描订单表
+ */
+public interface VenueStatService {
+
+    /**
+     * 订单新增、修改或删除后调用
+     * @param removed 修改前的订单，新增时为 null
+     * @param added 修改后的订单，删除时为 null
+     */
+    void record(Order removed, Order added);
+
+    /**
+     * 订单状态从 from 变为 to 之后调用，订单需仍在 order 表中
+     * @param orderIDs
+     * @param from
+     * @param to
+     */
+    void recordTransition(Collection<Integer> orderIDs, int from, int to);
+
+    /**
+     * 清空后从订单表和归档表重新汇总
+     */
+    void rebuild();
+
+    /**
+     * 各场馆在 [from, to] 内的汇总
+     * @param from
+     * @param to
+     * @return
+     */
+    List<VenueStat> sum(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,48 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.CacheRegionStat;
+import com.demo.service.CacheStatService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatServiceImpl implements CacheStatService {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStat> regions() {
+        Statistics statistics = statistics();
+        String[] names = statistics.getSecondLevelCacheRegionNames().clone();
+        Arrays.sort(names);
+        List<CacheRegionStat> stats = new ArrayList<>(names.length);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+            stats.add(new CacheRegionStat(name, hits, misses, region.getPutCount(), hitRatio));
+        }
+        return stats;
+    }
+
+    @Override
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
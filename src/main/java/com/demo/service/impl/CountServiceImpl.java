@@ -0,0 +1,166 @@
+package com.demo.service.impl;
+
+import com.demo.dao.MessageDao;
+import com.demo.dao.NewsDao;
+import com.demo.dao.OrderArchiveDao;
+import com.demo.dao.OrderDao;
+import com.demo.service.CountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Service
+public class CountServiceImpl implements CountService {
+    private static final String NEWS = "news";
+    private static final String MESSAGE_STATE = "message:state:";
+    private static final String MESSAGE_USER = "message:user:";
+    private static final String ORDER_STATE = "order:state:";
+    private static final String ORDER_USER = "order:user:";
+
+    @Autowired
+    private NewsDao newsDao;
+
+    @Autowired
+    private MessageDao messageDao;
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private OrderArchiveDao orderArchiveDao;
+
+    /**
+     * 计数器个数上限，主要是按用户的计数；超过后新的 key 直接查库不缓存
+     */
+    @Value("${demo.counts.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 只缓存读过的计数；不在表里的 key 写操作直接忽略，下次读取时从数据库统计
+     */
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public long countNews() {
+        return get(NEWS, newsDao::count);
+    }
+
+    @Override
+    public long countMessages(int state) {
+        return get(MESSAGE_STATE + state, () -> messageDao.countByState(state));
+    }
+
+    @Override
+    public long countUserMessages(String userID) {
+        return get(MESSAGE_USER + userID, () -> messageDao.countByUserID(userID));
+    }
+
+    @Override
+    public long countOrders(int state) {
+        return get(ORDER_STATE + state, () -> orderDao.countByState(state));
+    }
+
+    @Override
+    public long countUserOrders(String userID) {
+        return get(ORDER_USER + userID, () -> orderDao.countByUserID(userID) + orderArchiveDao.countByUserID(userID));
+    }
+
+    @Override
+    public void newsAdded(int delta) {
+        add(NEWS, delta);
+    }
+
+    @Override
+    public void messageAdded(String userID, int state) {
+        add(MESSAGE_STATE + state, 1);
+        add(MESSAGE_USER + userID, 1);
+    }
+
+    @Override
+    public void messageRemoved(String userID, int state) {
+        add(MESSAGE_STATE + state, -1);
+        add(MESSAGE_USER + userID, -1);
+    }
+
+    @Override
+    public void messagesMoved(int from, int to, int count) {
+        if (from != to && count > 0) {
+            add(MESSAGE_STATE + from, -count);
+            add(MESSAGE_STATE + to, count);
+        }
+    }
+
+    @Override
+    public void invalidateMessages() {
+        invalidate(MESSAGE_STATE);
+        invalidate(MESSAGE_USER);
+    }
+
+    @Override
+    public void orderAdded(String userID, int state, int count) {
+        if (count > 0) {
+            add(ORDER_STATE + state, count);
+            add(ORDER_USER + userID, count);
+        }
+    }
+
+    @Override
+    public void orderRemoved(String userID, int state) {
+        add(ORDER_STATE + state, -1);
+        add(ORDER_USER + userID, -1);
+    }
+
+    @Override
+    public void ordersMoved(int from, int to, int count) {
+        if (from != to && count > 0) {
+            add(ORDER_STATE + from, -count);
+            add(ORDER_STATE + to, count);
+        }
+    }
+
+    @Override
+    public void invalidateOrders() {
+        invalidate(ORDER_STATE);
+        invalidate(ORDER_USER);
+    }
+
+    /**
+     * 清空全部计数，纠正并发写入和其他节点写入带来的偏差
+     */
+    @Scheduled(initialDelayString = "${demo.counts.refresh-interval:600000}",
+            fixedDelayString = "${demo.counts.refresh-interval:600000}")
+    public void refresh() {
+        counters.clear();
+    }
+
+    private long get(String key, LongSupplier loader) {
+        AtomicLong counter = counters.get(key);
+        if (counter != null) {
+            return counter.get();
+        }
+        long count = loader.getAsLong();
+        if (counters.size() < maxSize) {
+            counter = counters.putIfAbsent(key, new AtomicLong(count));
+            if (counter != null) {
+                return counter.get();
+            }
+        }
+        return count;
+    }
+
+    private void add(String key, long delta) {
+        AtomicLong counter = counters.get(key);
+        if (counter != null) {
+            counter.addAndGet(delta);
+        }
+    }
+
+    private void invalidate(String prefix) {
+        counters.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.service.impl;
+
+import com.demo.dao.StoredFileDao;
+import com.demo.service.FileStoreService;
+import com.demo.utils.FileUtil;
+import com.demo.utils.PictureSize;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class FileStoreServiceImpl implements FileStoreService {
+    @Autowired
+    private StoredFileDao storedFileDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${demo.file-store.orphan-grace-hours:24}")
+    private int orphanGraceHours;
+
+    @Value("${demo.file-store.recount-days:7}")
+    private int recountDays;
+
+    @Value("${demo.file-store.batch-size:500}")
+    private int batchSize;
+
+    private File root;
+
+    @PostConstruct
+    public void init() {
+        root = FileUtil.staticRoot();
+    }
+
+    /**
+     * 先写同目录的临时文件并计算摘要，登记引用后再改名为 摘要+后缀；目标已存在时直接复用
+     */
+    @Override
+    public String store(MultipartFile file, String dir) throws Exception {
+        if (file.isEmpty()) {
+            return "";
+        }
+        File fileDir = new File(root, dir);
+        fileDir.mkdirs();
+        String suffix = FileUtil.suffixOf(file.getOriginalFilename());
+        File temp = File.createTempFile(".upload", suffix, fileDir);
+        try {
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = FileUtil.copyHashed(in, temp);
+            }
+            String url = dir + "/" + hash + suffix;
+            File target = new File(fileDir, hash + suffix);
+            // retain 在回收事务结束前会等待，之后再检查文件是否存在，不会引用到刚被删掉的文件
+            storedFileDao.retain(url, hash, temp.length(), LocalDateTime.now());
+            if (!target.exists()) {
+                FileUtil.publish(temp, target);
+            }
+            return url;
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    @Override
+    public void release(String url) {
+        if (url == null || url.isEmpty()) {
+            return;
+        }
+        storedFileDao.release(url, LocalDateTime.now());
+    }
+
+    @Override
+    @Scheduled(cron = "${demo.file-store.cron:0 0 4 * * ?}")
+    public synchronized int collectOrphans() {
+        LocalDateTime before = LocalDateTime.now().minusHours(orphanGraceHours);
+        storedFileDao.recount(before, before.minusDays(recountDays));
+        int collected = 0;
+        while (true) {
+            List<String> paths = storedFileDao.findOrphans(before, PageRequest.of(0, batchSize));
+            for (String path : paths) {
+                Boolean deleted = transactionTemplate.execute(status -> {
+                    if (storedFileDao.lockOrphan(path, before) == null) {
+                        return false;
+                    }
+                    deleteWithVariants(path);
+                    storedFileDao.deleteById(path);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(deleted)) {
+                    collected++;
+                }
+            }
+            if (paths.size() < batchSize) {
+                return collected;
+            }
+        }
+    }
+
+    private void deleteWithVariants(String path) {
+        try {
+            for (PictureSize size : PictureSize.values()) {
+                Files.deleteIfExists(new File(root, size.variantOf(path)).toPath());
+            }
+            Files.deleteIfExists(new File(root, path).toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
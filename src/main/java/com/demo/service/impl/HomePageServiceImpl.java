@@ -0,0 +1,179 @@
+package com.demo.service.impl;
+
+import com.demo.entity.Message;
+import com.demo.entity.News;
+import com.demo.entity.Venue;
+import com.demo.entity.vo.HomePage;
+import com.demo.entity.vo.MessageVo;
+import com.demo.service.HomePageService;
+import com.demo.service.MessageService;
+import com.demo.service.MessageVoService;
+import com.demo.service.NewsService;
+import com.demo.service.VenueService;
+import com.demo.utils.Executors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+@Service
+public class HomePageServiceImpl implements HomePageService {
+    /**
+     * 每栏显示的条数
+     */
+    private static final int SIZE = 5;
+
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private NewsService newsService;
+    @Autowired
+    private MessageService messageService;
+    @Autowired
+    private MessageVoService messageVoService;
+
+    @Value("${demo.home-page.threads:3}")
+    private int threads;
+
+    @Value("${demo.home-page.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${demo.home-page.venue-ttl:60000}")
+    private long venueTtl;
+
+    @Value("${demo.home-page.news-ttl:30000}")
+    private long newsTtl;
+
+    @Value("${demo.home-page.message-ttl:10000}")
+    private long messageTtl;
+
+    private ThreadPoolExecutor executor;
+
+    private final Section<List<Venue>> venues = new Section<>(() -> Collections.unmodifiableList(
+            venueService.findAll(PageRequest.of(0, SIZE, Sort.by("venueID").ascending())).getContent()));
+
+    private final Section<List<News>> news = new Section<>(() -> Collections.unmodifiableList(
+            newsService.findAll(PageRequest.of(0, SIZE, Sort.by("time").descending())).getContent()));
+
+    private final Section<List<MessageVo>> messages = new Section<>(() -> {
+        List<Message> passed = messageService.findPassState(PageRequest.of(0, SIZE, Sort.by("time").descending())).getContent();
+        return Collections.unmodifiableList(messageVoService.returnVo(passed));
+    });
+
+    /**
+     * 线程数和队列都有上限；队列满时由请求线程自己加载
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.bounded("home-page", threads, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Override
+    public HomePage load() {
+        CompletableFuture<List<Venue>> venueList = venues.get(venueTtl, executor);
+        CompletableFuture<List<News>> newsList = news.get(newsTtl, executor);
+        CompletableFuture<List<MessageVo>> messageList = messages.get(messageTtl, executor);
+        return new HomePage(venueList.join(), newsList.join(), messageList.join());
+    }
+
+    @Override
+    public void evictVenues() {
+        venues.evict();
+    }
+
+    @Override
+    public void evictNews() {
+        news.evict();
+    }
+
+    @Override
+    public void evictMessages() {
+        messages.evict();
+    }
+
+    /**
+     * 一个栏目的缓存。过期后同一时间只有一个加载任务，其他请求等它的结果；
+     * 加载期间被 evict 的结果只返回给等待的请求，不放进缓存
+     */
+    private static class Section<T> {
+        private final Supplier<T> loader;
+
+        private volatile Entry<T> entry;
+
+        private CompletableFuture<T> loading;
+
+        private long generation;
+
+        Section(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        CompletableFuture<T> get(long ttl, Executor executor) {
+            Entry<T> current = entry;
+            if (current != null && current.expireAt > System.currentTimeMillis()) {
+                return CompletableFuture.completedFuture(current.value);
+            }
+            CompletableFuture<T> result;
+            long loadGeneration;
+            synchronized (this) {
+                if (loading != null) {
+                    return loading;
+                }
+                loading = result = new CompletableFuture<>();
+                loadGeneration = generation;
+            }
+            // 在锁外提交，线程池满时由当前线程执行也不会挡住其他请求
+            CompletableFuture.supplyAsync(loader, executor).whenComplete((value, error) -> {
+                finish(loadGeneration, value, error, ttl);
+                if (error == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+            return result;
+        }
+
+        private synchronized void finish(long loadGeneration, T value, Throwable error, long ttl) {
+            if (loadGeneration != generation) {
+                return;
+            }
+            loading = null;
+            if (error == null) {
+                entry = new Entry<>(value, System.currentTimeMillis() + ttl);
+            }
+        }
+
+        synchronized void evict() {
+            generation++;
+            entry = null;
+            loading = null;
+        }
+    }
+
+    private static class Entry<T> {
+        final T value;
+
+        final long expireAt;
+
+        Entry(T value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
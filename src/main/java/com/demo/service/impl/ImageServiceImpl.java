@@ -0,0 +1,151 @@
+package com.demo.service.impl;
+
+import com.demo.service.FileStoreService;
+import com.demo.service.ImageService;
+import com.demo.utils.Executors;
+import com.demo.utils.FileUtil;
+import com.demo.utils.PictureSize;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Service
+public class ImageServiceImpl implements ImageService {
+    @Autowired
+    private FileStoreService fileStoreService;
+
+    @Value("${demo.image.threads:2}")
+    private int threads;
+
+    @Value("${demo.image.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 线程数和队列都有上限；队列满时丢弃任务，页面继续显示原图
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.bounded("image-resize", threads, queueCapacity, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String saveVenuePicture(MultipartFile picture) throws Exception {
+        return submit(fileStoreService.store(picture, FileUtil.VENUE_DIR));
+    }
+
+    @Override
+    public String saveUserPicture(MultipartFile picture) throws Exception {
+        return submit(fileStoreService.store(picture, FileUtil.USER_DIR));
+    }
+
+    @Override
+    public void release(String url) {
+        fileStoreService.release(url);
+    }
+
+    /**
+     * 文件按内容命名，重复上传的图片已经有各尺寸，不再生成
+     */
+    private String submit(String url) {
+        if (!url.isEmpty()) {
+            File root = FileUtil.staticRoot();
+            if (!new File(root, PictureSize.FULL.variantOf(url)).exists()) {
+                File original = new File(root, url);
+                executor.execute(() -> createVariants(original));
+            }
+        }
+        return url;
+    }
+
+    /**
+     * 读不出来的文件（不是图片或格式不支持）不生成变体
+     */
+    static void createVariants(File original) {
+        BufferedImage source;
+        try {
+            source = ImageIO.read(original);
+        } catch (IOException e) {
+            return;
+        }
+        if (source == null) {
+            return;
+        }
+        for (PictureSize size : PictureSize.values()) {
+            File target = new File(original.getParentFile(), new File(size.variantOf(original.getName())).getName());
+            try {
+                write(resize(source, size.getMaxEdge()), target);
+            } catch (IOException e) {
+                // 单个尺寸失败时模板退回原图
+            }
+        }
+    }
+
+    /**
+     * 等比缩小到长边不超过 maxEdge，不放大；缩小比例大时逐次减半，避免一次缩放产生锯齿
+     */
+    static BufferedImage resize(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int w = width;
+        int h = height;
+        do {
+            w = w / 2 >= targetWidth ? w / 2 : targetWidth;
+            h = h / 2 >= targetHeight ? h / 2 : targetHeight;
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // 透明背景转成白底再存为 jpg
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetWidth || h != targetHeight);
+        return current;
+    }
+
+    /**
+     * 先写临时文件再改名，模板不会读到写了一半的图片
+     */
+    private static void write(BufferedImage image, File target) throws IOException {
+        File temp = File.createTempFile(".resize", ".jpg", target.getParentFile());
+        try {
+            if (!ImageIO.write(image, "jpg", temp)) {
+                throw new IOException("jpg writer not available");
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+}
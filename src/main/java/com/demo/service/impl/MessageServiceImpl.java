@@ -2,17 +2,31 @@ package com.demo.service.impl;
 
 import com.demo.dao.MessageDao;
 import com.demo.entity.Message;
+import com.demo.entity.vo.CursorPage;
+import com.demo.service.CountService;
 import com.demo.service.MessageService;
+import com.demo.utils.BatchTransition;
+import com.demo.utils.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 @Service
 public class MessageServiceImpl implements MessageService {
     @Autowired
     private MessageDao messageDao;
 
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     public Message findById(int messageID) {
         return messageDao.getOne(messageID);
@@ -27,17 +41,25 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     public int create(Message message) {
-        return messageDao.save(message).getMessageID();
+        int messageID=messageDao.save(message).getMessageID();
+        countService.messageAdded(message.getUserID(),message.getState());
+        return messageID;
     }
 
     @Override
     public void delById(int messageID) {
+        Message message=messageDao.findByMessageID(messageID);
         messageDao.deleteById(messageID);
+        if(message!=null) {
+            countService.messageRemoved(message.getUserID(),message.getState());
+        }
     }
 
     @Override
     public void update(Message message) {
         messageDao.save(message);
+        // 传入的是已修改的对象，不知道原来的状态
+        countService.invalidateMessages();
     }
 
     @Override
@@ -47,6 +69,7 @@ public class MessageServiceImpl implements MessageService {
             throw new RuntimeException("留言不存在");
         }
         messageDao.updateState(STATE_PASS,message.getMessageID());
+        countService.messagesMoved(message.getState(),STATE_PASS,1);
     }
 
     @Override
@@ -56,6 +79,24 @@ public class MessageServiceImpl implements MessageService {
             throw new RuntimeException("留言不存在");
         }
         messageDao.updateState(STATE_REJECT,message.getMessageID());
+        countService.messagesMoved(message.getState(),STATE_REJECT,1);
+    }
+
+    @Override
+    public List<Integer> confirmMessages(List<Integer> messageIDs) {
+        return transitionAll(messageIDs,STATE_NO_AUDIT,STATE_PASS);
+    }
+
+    @Override
+    public List<Integer> rejectMessages(List<Integer> messageIDs) {
+        return transitionAll(messageIDs,STATE_NO_AUDIT,STATE_REJECT);
+    }
+
+    private List<Integer> transitionAll(List<Integer> messageIDs, int from, int to) {
+        List<Integer> changed=BatchTransition.run(transactionTemplate,messageIDs,from,to,
+                messageDao::lockIDsInState,messageDao::updateStateIn);
+        countService.messagesMoved(from,to,changed.size());
+        return changed;
     }
 
     @Override
@@ -68,4 +109,19 @@ public class MessageServiceImpl implements MessageService {
         return messageDao.findAllByState(STATE_PASS,pageable);
     }
 
+    @Override
+    public CursorPage<Message> findPassFeed(String cursor, int size) {
+        Cursor after=Cursor.decode(cursor);
+        Pageable limit=PageRequest.of(0,size+1);
+        List<Message> rows;
+        if(after==null) {
+            rows=messageDao.findByStateOrderByTimeDescMessageIDDesc(STATE_PASS,limit);
+        } else if(after.getTime()==null) {
+            rows=messageDao.findByStateAfterNullTime(STATE_PASS,after.getId(),limit);
+        } else {
+            rows=messageDao.findByStateAfter(STATE_PASS,after.getTime(),after.getId(),limit);
+        }
+        return CursorPage.of(rows,size,message->Cursor.encode(message.getTime(),message.getMessageID()));
+    }
+
 }
@@ -10,7 +10,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class MessageVoServiceImpl implements MessageVoService {
@@ -28,11 +32,28 @@ public class MessageVoServiceImpl implements MessageVoService {
         return messageVo;
     }
 
+    /**
+     * 留言已经查出，所有发言用户用一次 in 查询取回
+     */
     @Override
     public List<MessageVo> returnVo(List<Message> messages) {
+        Set<String> userIDs=new HashSet<>();
+        for(Message message:messages){
+            userIDs.add(message.getUserID());
+        }
+        Map<String,User> users=new HashMap<>();
+        if(!userIDs.isEmpty()){
+            for(User user:userDao.findByUserIDIn(userIDs)){
+                users.put(user.getUserID(),user);
+            }
+        }
         List<MessageVo> list=new ArrayList<>();
-        for(int i=0;i<messages.size();i++){
-            list.add(returnMessageVoByMessageID(messages.get(i).getMessageID()));
+        for(Message message:messages){
+            User user=users.get(message.getUserID());
+            if(user==null){
+                throw new RuntimeException("用户不存在");
+            }
+            list.add(new MessageVo(message.getMessageID(),user.getUserID(),message.getContent(),message.getTime(),user.getUserName(),user.getPicture(),message.getState()));
         }
         return list;
     }
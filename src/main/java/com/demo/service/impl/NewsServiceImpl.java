@@ -2,17 +2,28 @@ package com.demo.service.impl;
 
 import com.demo.dao.NewsDao;
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.NewsSummary;
+import com.demo.service.CountService;
 import com.demo.service.NewsService;
+import com.demo.utils.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 @Service
 public class NewsServiceImpl implements NewsService {
     @Autowired
     private NewsDao newsDao;
 
+    @Autowired
+    private CountService countService;
+
     @Override
     public Page<News> findAll(Pageable pageable) {
         return newsDao.findAll(pageable);
@@ -25,16 +36,42 @@ public class NewsServiceImpl implements NewsService {
 
     @Override
     public int create(News news) {
-        return newsDao.save(news).getNewsID();
+        int newsID = newsDao.save(news).getNewsID();
+        countService.newsAdded(1);
+        return newsID;
     }
 
     @Override
     public void delById(int newsID) {
         newsDao.deleteById(newsID);
+        countService.newsAdded(-1);
     }
 
     @Override
     public void update(News news) {
         newsDao.save(news);
     }
+
+    @Override
+    public CursorPage<News> findFeed(String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<News> rows;
+        if (after == null) {
+            rows = newsDao.findAllByOrderByTimeDescNewsIDDesc(limit);
+        } else if (after.getTime() == null) {
+            rows = newsDao.findAfterNullTime(after.getId(), limit);
+        } else {
+            rows = newsDao.findAfter(after.getTime(), after.getId(), limit);
+        }
+        return CursorPage.of(rows, size, news -> Cursor.encode(news.getTime(), news.getNewsID()));
+    }
+
+    /**
+     * 总条数取计数器，不做 count(*)
+     */
+    @Override
+    public Page<NewsSummary> findSummaries(Pageable pageable) {
+        return new PageImpl<>(newsDao.findSummaries(pageable), pageable, countService.countNews());
+    }
 }
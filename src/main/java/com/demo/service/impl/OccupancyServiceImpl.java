@@ -0,0 +1,223 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.service.OccupancyService;
+import com.demo.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class OccupancyServiceImpl implements OccupancyService {
+    static final List<Integer> ACTIVE_STATES = Arrays.asList(
+            OrderService.STATE_NO_AUDIT, OrderService.STATE_WAIT, OrderService.STATE_FINISH);
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyServiceImpl.class);
+
+    @Autowired
+    private OrderDao orderDao;
+
+    /**
+     * 重建前为空索引，covers() 恒为 false，查询全部回退到数据库
+     */
+    private volatile Index index = new Index(LocalDate.MAX);
+
+    private final AtomicLong writes = new AtomicLong();
+
+    @Override
+    public boolean covers(LocalDate day) {
+        return !day.isBefore(index.from);
+    }
+
+    @Override
+    public int occupiedHours(int venueID, LocalDate day) {
+        DaySlots slots = index.days.get(key(venueID, day));
+        return slots == null ? 0 : slots.bitmap;
+    }
+
+    @Override
+    public List<Order> findDayOrders(int venueID, LocalDate day) {
+        DaySlots slots = index.days.get(key(venueID, day));
+        if (slots == null) {
+            return new ArrayList<>();
+        }
+        List<Order> orders = new ArrayList<>(slots.orders.size());
+        for (Order order : slots.orders.values()) {
+            orders.add(copyOf(order));
+        }
+        orders.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return orders;
+    }
+
+    @Override
+    public void put(Order order) {
+        writes.incrementAndGet();
+        Index current = index;
+        current.remove(order.getOrderID());
+        current.add(order);
+    }
+
+    @Override
+    public void changeState(int orderID, int state) {
+        writes.incrementAndGet();
+        Index current = index;
+        Long key = current.keyByOrder.get(orderID);
+        if (key == null) {
+            return;
+        }
+        if (!ACTIVE_STATES.contains(state)) {
+            current.remove(orderID);
+            return;
+        }
+        current.days.computeIfPresent(key, (k, slots) -> {
+            Order stored = slots.orders.get(orderID);
+            if (stored == null) {
+                return slots;
+            }
+            Order copy = copyOf(stored);
+            copy.setState(state);
+            return slots.with(copy);
+        });
+    }
+
+    @Override
+    public void remove(int orderID) {
+        writes.incrementAndGet();
+        index.remove(orderID);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        for (int attempt = 0; attempt < MAX_REBUILD_ATTEMPTS; attempt++) {
+            long before = writes.get();
+            LocalDate from = LocalDate.now();
+            Index fresh = new Index(from);
+            for (Order order : orderDao.findByStateInAndStartTimeGreaterThanEqual(ACTIVE_STATES, from.atStartOfDay())) {
+                fresh.add(order);
+            }
+            index = fresh;
+            // 重建期间有写入时，写入可能落在旧索引上，再读一次数据库
+            if (writes.get() == before) {
+                return;
+            }
+        }
+        // 一直有并发写入时不能确定索引完整，先让查询全部回退到数据库，由 verify() 之后再重建
+        log.warn("占用索引连续重建 {} 次都遇到并发写入，查询暂时回退到数据库", MAX_REBUILD_ATTEMPTS);
+        index = new Index(LocalDate.MAX);
+    }
+
+    /**
+     * 定期与数据库核对订单数量，不一致或跨天时重建
+     */
+    @Scheduled(initialDelayString = "${demo.slot-index.verify-interval:300000}",
+            fixedDelayString = "${demo.slot-index.verify-interval:300000}")
+    public void verify() {
+        Index current = index;
+        if (current.from.isBefore(LocalDate.now())) {
+            rebuild();
+            return;
+        }
+        long expected = orderDao.countByStateInAndStartTimeGreaterThanEqual(ACTIVE_STATES, current.from.atStartOfDay());
+        if (expected != current.keyByOrder.size()) {
+            rebuild();
+        }
+    }
+
+    static long key(int venueID, LocalDate day) {
+        return ((long) venueID << 32) | (day.toEpochDay() & 0xFFFFFFFFL);
+    }
+
+    static int mask(Order order) {
+        int start = order.getStartTime().getHour();
+        int end = Math.min(24, start + Math.max(0, order.getHours()));
+        return (int) (((1L << end) - 1) & ~((1L << start) - 1));
+    }
+
+    static Order copyOf(Order order) {
+        return new Order(order.getOrderID(), order.getUserID(), order.getVenueID(), order.getState(),
+                order.getOrderTime(), order.getStartTime(), order.getHours(), order.getTotal());
+    }
+
+    private static final class Index {
+        final LocalDate from;
+        final ConcurrentHashMap<Long, DaySlots> days = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Integer, Long> keyByOrder = new ConcurrentHashMap<>();
+
+        Index(LocalDate from) {
+            this.from = from;
+        }
+
+        void add(Order order) {
+            if (!ACTIVE_STATES.contains(order.getState()) || order.getStartTime() == null) {
+                return;
+            }
+            LocalDate day = order.getStartTime().toLocalDate();
+            if (day.isBefore(from)) {
+                return;
+            }
+            long key = key(order.getVenueID(), day);
+            Order copy = copyOf(order);
+            days.compute(key, (k, slots) -> (slots == null ? DaySlots.EMPTY : slots).with(copy));
+            keyByOrder.put(order.getOrderID(), key);
+        }
+
+        void remove(int orderID) {
+            Long key = keyByOrder.remove(orderID);
+            if (key != null) {
+                days.computeIfPresent(key, (k, slots) -> slots.without(orderID));
+            }
+        }
+    }
+
+    /**
+     * 单日占用，不可变，通过 ConcurrentHashMap.compute 整体替换
+     */
+    private static final class DaySlots {
+        static final DaySlots EMPTY = new DaySlots(Collections.emptyMap());
+
+        final Map<Integer, Order> orders;
+        final int bitmap;
+
+        DaySlots(Map<Integer, Order> orders) {
+            this.orders = orders;
+            int bits = 0;
+            for (Order order : orders.values()) {
+                bits |= mask(order);
+            }
+            this.bitmap = bits;
+        }
+
+        DaySlots with(Order order) {
+            Map<Integer, Order> next = new HashMap<>(orders);
+            next.put(order.getOrderID(), order);
+            return new DaySlots(next);
+        }
+
+        DaySlots without(int orderID) {
+            if (!orders.containsKey(orderID)) {
+                return this;
+            }
+            Map<Integer, Order> next = new HashMap<>(orders);
+            next.remove(orderID);
+            return next.isEmpty() ? null : new DaySlots(next);
+        }
+    }
+}
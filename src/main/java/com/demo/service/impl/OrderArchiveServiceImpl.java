@@ -0,0 +1,83 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderArchiveDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.service.CountService;
+import com.demo.service.OrderArchiveService;
+import com.demo.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+    static final List<Integer> ARCHIVE_STATES = Arrays.asList(OrderService.STATE_FINISH, OrderService.STATE_REJECT);
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private OrderArchiveDao orderArchiveDao;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${demo.order-archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${demo.order-archive.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    @Scheduled(cron = "${demo.order-archive.cron:0 30 3 * * ?}")
+    public synchronized int archive() {
+        LocalDateTime before = cutoff();
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Integer> ids = orderDao.lockArchivable(ARCHIVE_STATES, before, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                orderArchiveDao.copyFromOrder(ids);
+                orderDao.deleteByIDs(ids);
+                return ids.size();
+            });
+            archived += moved;
+            if (moved < batchSize) {
+                if (archived > 0) {
+                    // 归档的订单不再出现在用户的订单列表里
+                    countService.invalidateOrders();
+                }
+                return archived;
+            }
+        }
+    }
+
+    /**
+     * 归档时的截止时间只会随时间后移，所以开始时间不早于当前截止时间的订单一定还在 order 表
+     */
+    @Override
+    public boolean reaches(LocalDateTime startTime) {
+        return startTime.isBefore(cutoff());
+    }
+
+    @Override
+    public List<Order> findDateOrder(int venueID, LocalDateTime startTime, LocalDateTime startTime2) {
+        return orderArchiveDao.findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(venueID, startTime, startTime2);
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+}
@@ -0,0 +1,88 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.vo.SweepStats;
+import com.demo.service.CountService;
+import com.demo.service.OccupancyService;
+import com.demo.service.OrderExpiryService;
+import com.demo.service.OrderTransition;
+import com.demo.service.VenueStatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+    private static final OrderTransition EXPIRE = OrderTransition.EXPIRE;
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private VenueStatService venueStatService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${demo.order-expiry.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalSwept = new AtomicLong();
+    private volatile long lastSwept;
+    private volatile long lastDurationMillis;
+    private volatile LocalDateTime lastRunTime;
+
+    /**
+     * 每批只锁 batchSize 行，与审核操作的条件 update 互斥，不会出现同一订单既通过又失效
+     */
+    @Override
+    @Scheduled(initialDelayString = "${demo.order-expiry.interval:600000}",
+            fixedDelayString = "${demo.order-expiry.interval:600000}")
+    public synchronized int sweep() {
+        long begin = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int swept = 0;
+        while (true) {
+            List<Integer> ids = transactionTemplate.execute(status -> {
+                List<Integer> locked = orderDao.lockStartedInState(EXPIRE.getFrom(), now, batchSize);
+                if (!locked.isEmpty()) {
+                    orderDao.updateStateIn(locked, EXPIRE.getFrom(), EXPIRE.getTo());
+                    venueStatService.recordTransition(locked, EXPIRE.getFrom(), EXPIRE.getTo());
+                }
+                return locked;
+            });
+            for (Integer id : ids) {
+                occupancyService.changeState(id, EXPIRE.getTo());
+            }
+            swept += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        countService.ordersMoved(EXPIRE.getFrom(), EXPIRE.getTo(), swept);
+        runs.incrementAndGet();
+        totalSwept.addAndGet(swept);
+        lastSwept = swept;
+        lastDurationMillis = System.currentTimeMillis() - begin;
+        lastRunTime = now;
+        return swept;
+    }
+
+    @Override
+    public SweepStats stats() {
+        return new SweepStats(runs.get(), totalSwept.get(), lastSwept, lastDurationMillis, lastRunTime);
+    }
+}
@@ -5,15 +5,33 @@ import com.demo.dao.OrderDao;
 import com.demo.dao.VenueDao;
 import com.demo.entity.Venue;
 import com.demo.entity.Order;
+import com.demo.entity.vo.BookingResult;
+import com.demo.exception.OrderConflictException;
+import com.demo.service.CountService;
+import com.demo.service.OccupancyService;
+import com.demo.service.OrderArchiveService;
 import com.demo.service.OrderService;
+import com.demo.service.OrderTransition;
+import com.demo.service.Recurrence;
+import com.demo.service.VenueService;
+import com.demo.service.VenueStatService;
+import com.demo.utils.BatchTransition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -23,6 +41,34 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private VenueDao venueDao;
 
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private VenueStatService venueStatService;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 周期预约一次最多的次数
+     */
+    static final int MAX_OCCURRENCES = 52;
+
+    /**
+     * 每个场馆一把锁，不同场馆的预约互不阻塞；场馆数量有限，不需要回收
+     */
+    private final ConcurrentHashMap<Integer, ReentrantLock> venueLocks = new ConcurrentHashMap<>();
+
     @Override
     public Order findById(int OrderID) {
         return orderDao.getOne(OrderID);
@@ -30,7 +76,20 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public List<Order> findDateOrder(int venueID, LocalDateTime startTime, LocalDateTime startTime2) {
-        return orderDao.findByVenueIDAndStartTimeIsBetween(venueID,startTime,startTime2);
+        // 整天的查询直接走内存索引
+        if (startTime.toLocalTime().equals(LocalTime.MIDNIGHT) && startTime2.equals(startTime.plusDays(1))
+                && occupancyService.covers(startTime.toLocalDate())) {
+            return occupancyService.findDayOrders(venueID, startTime.toLocalDate());
+        }
+        List<Order> orders=orderDao.findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(venueID,startTime,startTime2);
+        // 只有查询区间早于保留期时才去查归档表
+        if (orderArchiveService.reaches(startTime)) {
+            orders.addAll(orderArchiveService.findDateOrder(venueID,startTime,startTime2));
+        }
+        // 与内存索引返回的一致：只有占用时段的订单，按开始时间排序
+        orders.removeIf(order -> !OccupancyServiceImpl.ACTIVE_STATES.contains(order.getState()));
+        orders.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return orders;
     }
 
     @Override
@@ -41,8 +100,17 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public void updateOrder(int orderID, String venueName, LocalDateTime startTime, int hours,String userID)  {
-        Venue venue =venueDao.findByVenueName(venueName);
-        Order order=orderDao.findByOrderID(orderID);
+        Venue venue =venueService.findByVenueName(venueName);
+        if (venue == null) {
+            throw new RuntimeException("场馆不存在");
+        }
+        Order current=orderDao.findByOrderID(orderID);
+        if (current == null) {
+            throw new RuntimeException("订单不存在");
+        }
+        // 在副本上修改，时段冲突时受管理的实体保持原样，不会被之后的 flush 写回
+        Order before=OccupancyServiceImpl.copyOf(current);
+        Order order=OccupancyServiceImpl.copyOf(current);
         order.setState(STATE_NO_AUDIT);
         order.setHours(hours);
         order.setVenueID(venue.getVenueID());
@@ -51,13 +119,15 @@ public class OrderServiceImpl implements OrderService {
         order.setUserID(userID);
         order.setTotal(hours* venue.getPrice());
 
-        orderDao.save(order);
+        book(order,before);
+        countService.orderRemoved(before.getUserID(),before.getState());
+        countService.orderAdded(userID,STATE_NO_AUDIT,1);
     }
 
     @Override
     public void submit(String venueName, LocalDateTime startTime, int hours, String userID) {
 
-        Venue venue =venueDao.findByVenueName(venueName);
+        Venue venue =venueService.findByVenueName(venueName);
 
         Order order=new Order();
         order.setState(STATE_NO_AUDIT);
@@ -67,39 +137,221 @@ public class OrderServiceImpl implements OrderService {
         order.setStartTime(startTime);
         order.setUserID(userID);
         order.setTotal(hours* venue.getPrice());
-        orderDao.save(order);
+        book(order,null);
+        countService.orderAdded(userID,STATE_NO_AUDIT,1);
+    }
+
+    /**
+     * 检查时段冲突后保存订单并更新占用索引。JVM 内按场馆加锁，数据库内锁住场馆行，保证多节点部署时同样不会超订；
+     * 索引在锁内更新，同时点击同一时段时后一个请求在锁内再查一次索引即被拦下，不会查库
+     *
+     * @param order
+     * @param before 修改前的订单，新建时为 null
+     * @return 保存后的订单
+     */
+    private Order book(Order order, Order before) {
+        LocalDateTime startTime = order.getStartTime();
+        LocalDateTime endTime = startTime.plusHours(order.getHours());
+        LocalDate day = startTime.toLocalDate();
+        int mask = OccupancyServiceImpl.mask(order);
+        boolean indexed = order.getOrderID() == 0 && occupancyService.covers(day);
+        if (indexed && (occupancyService.occupiedHours(order.getVenueID(), day) & mask) != 0) {
+            throw new OrderConflictException("该时段已被预约");
+        }
+
+        boolean[] stale = new boolean[1];
+        try {
+            return withVenueLock(order.getVenueID(), () -> {
+                if (indexed && (occupancyService.occupiedHours(order.getVenueID(), day) & mask) != 0) {
+                    throw new OrderConflictException("该时段已被预约");
+                }
+                Order saved = transactionTemplate.execute(status -> {
+                    venueDao.lockByVenueID(order.getVenueID());
+                    if (orderDao.countOverlap(order.getVenueID(), startTime, endTime, order.getOrderID()) > 0) {
+                        // 锁内索引认为空闲而数据库有冲突，说明索引已过期
+                        stale[0] = indexed;
+                        throw new OrderConflictException("该时段已被预约");
+                    }
+                    Order result = orderDao.save(order);
+                    venueStatService.record(before, result);
+                    return result;
+                });
+                occupancyService.put(saved);
+                return saved;
+            });
+        } catch (OrderConflictException e) {
+            if (stale[0]) {
+                occupancyService.rebuild();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<BookingResult> submitRecurring(String venueName, LocalDateTime startTime, int hours, Recurrence recurrence,
+                                               int occurrences, String userID) {
+        if (occurrences < 1 || occurrences > MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("重复次数需在1到" + MAX_OCCURRENCES + "之间");
+        }
+        if (hours < 1) {
+            throw new IllegalArgumentException("预约时长至少1小时");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (startTime.isBefore(now)) {
+            throw new IllegalArgumentException("开始时间不能早于当前时间");
+        }
+        Venue venue = venueService.findByVenueName(venueName);
+        if (venue == null) {
+            throw new RuntimeException("场馆不存在");
+        }
+        // 每次重复的钟点相同，只需检查第一次是否在开放时间内；营业时间解析不了时不拦截
+        int open = VenueSearchServiceImpl.openMask(venue);
+        int end = startTime.getHour() + hours + (startTime.toLocalTime().getMinute() > 0 ? 1 : 0);
+        int wanted = end > 24 ? -1 : VenueSearchServiceImpl.hourMask(startTime.getHour(), end);
+        if (open != 0 && (open & wanted) != wanted) {
+            throw new IllegalArgumentException("预约时段超出场馆开放时间");
+        }
+        List<Order> candidates = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            candidates.add(new Order(0, userID, venue.getVenueID(), STATE_NO_AUDIT, now,
+                    recurrence.nth(startTime, i), hours, hours * venue.getPrice()));
+        }
+        LocalDateTime endTime = candidates.get(occurrences - 1).getStartTime().plusHours(hours);
+
+        boolean[] booked = new boolean[occurrences];
+        List<Order> accepted = withVenueLock(venue.getVenueID(), () -> {
+            List<Order> free = transactionTemplate.execute(status -> {
+                venueDao.lockByVenueID(venue.getVenueID());
+                List<Order> existing = orderDao.findOverlapping(venue.getVenueID(), startTime, endTime);
+                List<Order> inserted = new ArrayList<>();
+                for (int i = 0; i < occurrences; i++) {
+                    if (!overlapsAny(candidates.get(i), existing)) {
+                        booked[i] = true;
+                        inserted.add(candidates.get(i));
+                    }
+                }
+                orderDao.batchInsert(inserted);
+                for (Order order : inserted) {
+                    venueStatService.record(null, order);
+                }
+                return inserted;
+            });
+            // 提交后、释放场馆锁前更新索引
+            for (Order order : free) {
+                occupancyService.put(order);
+            }
+            return free;
+        });
+        countService.orderAdded(userID, STATE_NO_AUDIT, accepted.size());
+
+        List<BookingResult> results = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            Order order = candidates.get(i);
+            results.add(booked[i]
+                    ? new BookingResult(order.getStartTime(), true, order.getOrderID(), null)
+                    : new BookingResult(order.getStartTime(), false, 0, "该时段已被预约"));
+        }
+        return results;
+    }
+
+    private static boolean overlapsAny(Order order, List<Order> existing) {
+        LocalDateTime start = order.getStartTime();
+        LocalDateTime end = start.plusHours(order.getHours());
+        for (Order other : existing) {
+            if (other.getStartTime().isBefore(end) && start.isBefore(other.getStartTime().plusHours(other.getHours()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JVM 内按场馆串行执行，数据库行锁由 action 自己在事务里加
+     */
+    private <T> T withVenueLock(int venueID, Supplier<T> action) {
+        ReentrantLock lock = venueLocks.computeIfAbsent(venueID, id -> new ReentrantLock());
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public void delOrder(int orderID) {
-        orderDao.deleteById(orderID);
+        Order deleted=transactionTemplate.execute(status -> {
+            Order order=orderDao.findByOrderID(orderID);
+            orderDao.deleteById(orderID);
+            venueStatService.record(order,null);
+            return order;
+        });
+        occupancyService.remove(orderID);
+        if(deleted!=null) {
+            countService.orderRemoved(deleted.getUserID(),deleted.getState());
+        }
     }
 
     @Override
     public void confirmOrder(int orderID) {
-        Order order=orderDao.findByOrderID(orderID);
-        if(order == null) {
-            throw new RuntimeException("订单不存在");
-        }
-        orderDao.updateState(STATE_WAIT,order.getOrderID());
+        transition(orderID,OrderTransition.CONFIRM);
     }
 
     @Override
     public void finishOrder(int orderID) {
-        Order order=orderDao.findByOrderID(orderID);
-        if(order == null) {
-            throw new RuntimeException("订单不存在");
-        }
-        orderDao.updateState(STATE_FINISH,order.getOrderID());
+        transition(orderID,OrderTransition.FINISH);
     }
 
     @Override
     public void rejectOrder(int orderID) {
-        Order order=orderDao.findByOrderID(orderID);
-        if(order == null) {
-            throw new RuntimeException("订单不存在");
+        transition(orderID,OrderTransition.REJECT);
+    }
+
+    @Override
+    public List<Integer> confirmOrders(List<Integer> orderIDs) {
+        return transitionAll(orderIDs,OrderTransition.CONFIRM);
+    }
+
+    @Override
+    public List<Integer> rejectOrders(List<Integer> orderIDs) {
+        return transitionAll(orderIDs,OrderTransition.REJECT);
+    }
+
+    /**
+     * 一条条件 update 完成状态转换，和统计在同一事务中提交；受影响行数为 0 时才去区分订单不存在还是状态不对
+     */
+    private void transition(int orderID, OrderTransition transition) {
+        int from=transition.getFrom();
+        int to=transition.getTo();
+        Boolean changed=transactionTemplate.execute(status -> {
+            if(orderDao.compareAndSetState(orderID,from,to)==0) {
+                return false;
+            }
+            venueStatService.recordTransition(Collections.singletonList(orderID),from,to);
+            return true;
+        });
+        if(!Boolean.TRUE.equals(changed)) {
+            if(!orderDao.existsById(orderID)) {
+                throw new RuntimeException("订单不存在");
+            }
+            throw new IllegalStateException("订单状态已变更，无法执行该操作");
         }
-        orderDao.updateState(STATE_REJECT,order.getOrderID());
+        occupancyService.changeState(orderID,to);
+        countService.ordersMoved(from,to,1);
+    }
+
+    /**
+     * 统计与状态变更同一事务提交，占用索引在每批提交后更新
+     */
+    private List<Integer> transitionAll(List<Integer> orderIDs, OrderTransition transition) {
+        int from=transition.getFrom();
+        int to=transition.getTo();
+        List<Integer> changed=BatchTransition.run(transactionTemplate,orderIDs,from,to,
+                orderDao::lockIDsInState,orderDao::updateStateIn,
+                locked->venueStatService.recordTransition(locked,from,to),
+                ids->ids.forEach(id->occupancyService.changeState(id,to)));
+        countService.ordersMoved(from,to,changed.size());
+        return changed;
     }
 
     @Override
@@ -1,42 +1,143 @@
 package com.demo.service.impl;
 
 
+import com.demo.dao.OrderArchiveDao;
 import com.demo.dao.OrderDao;
-import com.demo.dao.VenueDao;
 import com.demo.entity.Order;
 import com.demo.entity.Venue;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
+import com.demo.service.CountService;
+import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
+import com.demo.service.VenueService;
+import com.demo.utils.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import javax.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class OrderVoServiceImpl implements OrderVoService {
     @Autowired
     private OrderDao orderDao;
     @Autowired
-    private VenueDao venueDao;
+    private OrderArchiveDao orderArchiveDao;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private CountService countService;
 
 
     @Override
     public OrderVo returnOrderVoByOrderID(int orderID) {
         Order order=orderDao.findByOrderID(orderID);
-        Venue venue=venueDao.findByVenueID(order.getVenueID());
-        OrderVo orderVo=new OrderVo(order.getOrderID(),order.getUserID(),order.getVenueID(),venue.getVenueName(),
-                                    order.getState(),order.getOrderTime(),order.getStartTime(),order.getHours(),order.getTotal());
-
-        return orderVo;
+        Venue venue=venueService.findByVenueID(order.getVenueID());
+        return toVo(order,venue);
     }
 
+    /**
+     * 订单已经查出，场馆从场馆快照中取，不再查库
+     */
     @Override
     public List<OrderVo> returnVo(List<Order> list) {
+        Map<Integer,Venue> venues=new HashMap<>();
         List<OrderVo> list1=new ArrayList<>();
-        for(int i=0;i<list.size();i++) {
-            list1.add(returnOrderVoByOrderID(list.get(i).getOrderID()));
+        for(Order order:list) {
+            Venue venue=venues.computeIfAbsent(order.getVenueID(),this::venueOf);
+            list1.add(toVo(order,venue));
         }
         return list1;
     }
+
+    private Venue venueOf(int venueID) {
+        try {
+            return venueService.findByVenueID(venueID);
+        } catch (EntityNotFoundException e) {
+            throw new RuntimeException("场馆不存在");
+        }
+    }
+
+    /**
+     * 固定按下单时间倒序。归档的订单都早于保留期，排在实时表之后：先从实时表取当前页，
+     * 不够一页时才去归档表接着取，只在当前页完全落在归档部分时统计一次实时表的条数
+     */
+    @Override
+    public Page<OrderVo> findUserOrderVo(String userID, Pageable pageable) {
+        int size=pageable.getPageSize();
+        List<OrderVo> content=new ArrayList<>(orderDao.findVoFeedByUserID(userID,PageRequest.of(pageable.getPageNumber(),size)));
+        if(content.size()<size) {
+            long hot=content.isEmpty() ? orderDao.countByUserID(userID) : pageable.getOffset()+content.size();
+            long skip=pageable.getOffset()+content.size()-hot;
+            content.addAll(orderArchiveDao.findVoByUserID(userID,(int)skip,size-content.size()));
+        }
+        return new PageImpl<>(content,pageable,countService.countUserOrders(userID));
+    }
+
+    @Override
+    public Page<OrderVo> findNoAuditOrderVo(Pageable pageable) {
+        return orderDao.findVoByState(OrderService.STATE_NO_AUDIT,pageable);
+    }
+
+    /**
+     * 两个状态各自按索引取 size+1 条再归并，避免 state in (...) 导致的 filesort；实时表不够一页时再归并归档的已完成订单
+     */
+    @Override
+    public CursorPage<OrderVo> findAuditOrderFeed(String cursor, int size) {
+        Cursor after=Cursor.decode(cursor);
+        Pageable limit=PageRequest.of(0,size+1);
+        List<OrderVo> rows=new ArrayList<>();
+        for(int state:new int[]{OrderService.STATE_WAIT,OrderService.STATE_FINISH}) {
+            rows.addAll(after==null
+                    ? orderDao.findVoFeedByState(state,limit)
+                    : orderDao.findVoFeedByStateAfter(state,after.getTime(),after.getId(),limit));
+        }
+        if(rows.size()<=size) {
+            rows.addAll(after==null
+                    ? orderArchiveDao.findVoFeedByState(OrderService.STATE_FINISH,limit)
+                    : orderArchiveDao.findVoFeedByStateAfter(OrderService.STATE_FINISH,after.getTime(),after.getId(),limit));
+        }
+        return CursorPage.of(newestFirst(rows,size+1),size,vo->Cursor.encode(vo.getOrderTime(),vo.getOrderID()));
+    }
+
+    /**
+     * 实时表不够一页时才接着翻归档表，两边用同一个游标
+     */
+    @Override
+    public CursorPage<OrderVo> findUserOrderFeed(String userID, String cursor, int size) {
+        Cursor after=Cursor.decode(cursor);
+        Pageable limit=PageRequest.of(0,size+1);
+        List<OrderVo> rows=new ArrayList<>();
+        rows.addAll(after==null
+                ? orderDao.findVoFeedByUserID(userID,limit)
+                : orderDao.findVoFeedByUserIDAfter(userID,after.getTime(),after.getId(),limit));
+        if(rows.size()<=size) {
+            rows.addAll(after==null
+                    ? orderArchiveDao.findVoFeedByUserID(userID,limit)
+                    : orderArchiveDao.findVoFeedByUserIDAfter(userID,after.getTime(),after.getId(),limit));
+        }
+        return CursorPage.of(newestFirst(rows,size+1),size,vo->Cursor.encode(vo.getOrderTime(),vo.getOrderID()));
+    }
+
+    /**
+     * 按 (orderTime, orderID) 倒序归并，只保留前 limit 条
+     */
+    private static List<OrderVo> newestFirst(List<OrderVo> rows, int limit) {
+        rows.sort(Comparator.comparing(OrderVo::getOrderTime).thenComparingInt(OrderVo::getOrderID).reversed());
+        return rows.size()>limit ? rows.subList(0,limit) : rows;
+    }
+
+    private OrderVo toVo(Order order, Venue venue) {
+        return new OrderVo(order.getOrderID(),order.getUserID(),order.getVenueID(),venue.getVenueName(),
+                order.getState(),order.getOrderTime(),order.getStartTime(),order.getHours(),order.getTotal());
+    }
 }
@@ -2,17 +2,79 @@ package com.demo.service.impl;
 
 import com.demo.dao.UserDao;
 import com.demo.entity.User;
+import com.demo.entity.vo.UserSummary;
 import com.demo.service.UserService;
+import com.demo.utils.BloomFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 public class UserServiceImpl implements UserService {
     @Autowired
     private UserDao userDao;
 
+    /**
+     * 用户总数，-1 表示还未从数据库加载
+     */
+    private final AtomicLong userCount = new AtomicLong(-1);
+
+    /**
+     * 已存在的用户名。布隆过滤器不能删除，删除、改名留下的旧用户名只会造成误判，由定期重建清掉
+     */
+    private volatile BloomFilter userIDs;
+
+    /**
+     * 重建期间的新过滤器，新注册的用户名同时写入，避免替换后丢失
+     */
+    private volatile BloomFilter building;
+
+    /**
+     * 写入过滤器与公开、替换过滤器互斥，替换前拿到旧过滤器的写入不会漏掉新过滤器
+     */
+    private final Object filterLock = new Object();
+
+    @Value("${demo.user-profile.ttl:60000}")
+    private long profileTtl;
+
+    @Value("${demo.user-profile.max-size:1000}")
+    private int profileMaxSize;
+
+    /**
+     * 按 id 缓存的用户资料，按访问顺序淘汰最久未用的
+     */
+    private final LinkedHashMap<Integer, CachedProfile> profiles = new LinkedHashMap<Integer, CachedProfile>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CachedProfile> eldest) {
+            return size() > profileMaxSize;
+        }
+    };
+
+    /**
+     * 每次淘汰加一，由 profiles 的锁保护；读库前后不一致说明期间有淘汰，读到的可能是旧资料，不放入缓存
+     */
+    private long profileGeneration;
+
+    private static class CachedProfile {
+        final User user;
+        final long loadedAt;
+
+        CachedProfile(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+
     @Override
     public User findByUserID(String userID) {
         return userDao.findByUserID(userID);
@@ -23,11 +85,56 @@ public class UserServiceImpl implements UserService {
         return userDao.findById(id);
     }
 
+    /**
+     * 缓存有过期时间，其他节点修改的资料最多延迟一个 ttl 可见
+     */
+    @Override
+    public User findProfile(int id) {
+        long now = System.currentTimeMillis();
+        CachedProfile cached;
+        long loadGeneration;
+        synchronized (profiles) {
+            cached = profiles.get(id);
+            loadGeneration = profileGeneration;
+        }
+        if (cached == null || now - cached.loadedAt > profileTtl) {
+            User user = userDao.findById(id);
+            if (user == null) {
+                evictProfile(id);
+                return null;
+            }
+            cached = new CachedProfile(copyOf(user), now);
+            synchronized (profiles) {
+                if (loadGeneration == profileGeneration) {
+                    profiles.put(id, cached);
+                }
+            }
+        }
+        return copyOf(cached.user);
+    }
+
+    private void evictProfile(int id) {
+        synchronized (profiles) {
+            profileGeneration++;
+            profiles.remove(id);
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getUserID(), user.getUserName(), user.getPassword(), user.getEmail(),
+                user.getPhone(), user.getIsadmin(), user.getPicture());
+    }
+
     @Override
     public Page<User> findByUserID(Pageable pageable) {
         return userDao.findAllByIsadmin(0,pageable);
     }
 
+    @Override
+    public List<UserSummary> findSummaries(Pageable pageable) {
+        return userDao.findSummariesByIsadmin(0, pageable);
+    }
+
     @Override
     public User checkLogin(String userID, String password) {
         return userDao.findByUserIDAndPassword(userID,password);
@@ -35,23 +142,95 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public int create(User user) {
-        userDao.save(user);
-        return userDao.findAll().size();
+        User saved=userDao.save(user);
+        userCount.updateAndGet(count -> count < 0 ? count : count + 1);
+        rememberUserID(user.getUserID());
+        return saved.getId();
+    }
+
+    @Override
+    public long countUsers() {
+        long count=userCount.get();
+        if (count < 0) {
+            refreshUserCount();
+            count=userCount.get();
+        }
+        return count;
+    }
+
+    /**
+     * 定期与数据库核对，纠正其他节点注册、删除造成的偏差
+     */
+    @Scheduled(fixedDelayString = "${demo.user-count.refresh-interval:600000}")
+    public void refreshUserCount() {
+        userCount.set(userDao.count());
     }
 
     @Override
     public void delByID(int id) {
         userDao.deleteById(id);
+        evictProfile(id);
+        userCount.updateAndGet(count -> count < 0 ? count : count - 1);
     }
 
 
     @Override
     public void updateUser(User user) {
         userDao.save(user);
+        evictProfile(user.getId());
+        rememberUserID(user.getUserID());
     }
 
+    /**
+     * 过滤器判定不存在时直接返回 0，可能存在时才查询 userID 索引
+     */
     @Override
     public int countUserID(String userID) {
+        if (userID == null) {
+            return userDao.countByUserID(null);
+        }
+        BloomFilter filter = userIDs;
+        if (filter == null) {
+            rebuildUserIDFilter();
+            filter = userIDs;
+        }
+        if (!filter.mightContain(userID)) {
+            return 0;
+        }
         return userDao.countByUserID(userID);
     }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${demo.user-filter.rebuild-interval:3600000}",
+            fixedDelayString = "${demo.user-filter.rebuild-interval:3600000}")
+    public synchronized void rebuildUserIDFilter() {
+        // 先公开新过滤器再读库：读库之后提交的注册一定会写入新过滤器
+        BloomFilter fresh = new BloomFilter((int) Math.max(userDao.count() * 2, 1024), 0.01);
+        synchronized (filterLock) {
+            building = fresh;
+        }
+        for (String userID : userDao.findAllUserIDs()) {
+            if (userID != null) {
+                fresh.put(userID);
+            }
+        }
+        synchronized (filterLock) {
+            userIDs = fresh;
+            building = null;
+        }
+    }
+
+    private void rememberUserID(String userID) {
+        if (userID == null) {
+            return;
+        }
+        synchronized (filterLock) {
+            if (userIDs != null) {
+                userIDs.put(userID);
+            }
+            if (building != null) {
+                building.put(userID);
+            }
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.entity.Venue;
+import com.demo.service.OccupancyService;
+import com.demo.service.VenueSearchService;
+import com.demo.service.VenueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class VenueSearchServiceImpl implements VenueSearchService {
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    /**
+     * 索引覆盖该天时每个场馆只做一次位图查找；索引尚未建好时用一次当天订单查询代替
+     */
+    @Override
+    public List<Venue> findFreeVenues(LocalDate day, int startHour, int endHour) {
+        if (startHour < 0 || endHour > 24 || startHour >= endHour) {
+            throw new IllegalArgumentException("时段不合法");
+        }
+        if (day.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("只能查询今天及以后的空闲场馆");
+        }
+        int wanted = hourMask(startHour, endHour);
+        Map<Integer, Integer> occupied = occupancyService.covers(day) ? null : loadOccupied(day);
+
+        List<Venue> free = new ArrayList<>();
+        for (Venue venue : venueService.findAll()) {
+            if ((openMask(venue) & wanted) != wanted) {
+                continue;
+            }
+            int bits = occupied == null
+                    ? occupancyService.occupiedHours(venue.getVenueID(), day)
+                    : occupied.getOrDefault(venue.getVenueID(), 0);
+            if ((bits & wanted) == 0) {
+                free.add(venue);
+            }
+        }
+        return free;
+    }
+
+    private Map<Integer, Integer> loadOccupied(LocalDate day) {
+        Map<Integer, Integer> occupied = new HashMap<>();
+        for (Order order : orderDao.findByStateInAndStartTimeGreaterThanEqualAndStartTimeLessThan(
+                OccupancyServiceImpl.ACTIVE_STATES, day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            occupied.merge(order.getVenueID(), OccupancyServiceImpl.mask(order), (a, b) -> a | b);
+        }
+        return occupied;
+    }
+
+    /**
+     * 开放时间内的整点小时位图，开门时间不是整点时从下一个整点算起；时间格式不对视为不开放
+     */
+    static int openMask(Venue venue) {
+        try {
+            LocalTime open = LocalTime.parse(venue.getOpen_time().trim());
+            LocalTime close = LocalTime.parse(venue.getClose_time().trim());
+            int from = open.getHour() + (open.getMinute() > 0 || open.getSecond() > 0 ? 1 : 0);
+            int to = close.getHour();
+            return from < to ? hourMask(from, to) : 0;
+        } catch (DateTimeParseException | NullPointerException e) {
+            return 0;
+        }
+    }
+
+    static int hourMask(int from, int to) {
+        return (int) (((1L << to) - 1) & ~((1L << from) - 1));
+    }
+}
@@ -2,56 +2,153 @@ package com.demo.service.impl;
 
 import com.demo.dao.VenueDao;
 import com.demo.entity.Venue;
+import com.demo.entity.vo.VenueSummary;
 import com.demo.service.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class VenueServiceImpl implements VenueService {
+    private static final Sort BY_ID = Sort.by("venueID").ascending();
+
     @Autowired
     private VenueDao venueDao;
 
+    /**
+     * 全部场馆的不可变快照，写操作后整体替换；读取返回副本，调用方修改不会影响快照
+     */
+    private volatile Snapshot snapshot;
+
     @Override
     public Venue findByVenueID(int id) {
-        return venueDao.getOne(id);
+        Venue venue = snapshot().byID.get(id);
+        if (venue == null) {
+            throw new EntityNotFoundException("场馆不存在");
+        }
+        return copyOf(venue);
     }
 
     @Override
     public Venue findByVenueName(String venueName) {
-        return venueDao.findByVenueName(venueName);
+        Venue venue = snapshot().byName.get(venueName);
+        return venue == null ? null : copyOf(venue);
     }
 
+    /**
+     * 按 venueID 升序或不排序时从快照分页，其他排序交给数据库
+     */
     @Override
     public Page<Venue> findAll(Pageable pageable) {
-        return venueDao.findAll(pageable);
+        if (pageable.getSort().isSorted() && !pageable.getSort().equals(BY_ID)) {
+            return venueDao.findAll(pageable);
+        }
+        List<Venue> venues = snapshot().venues;
+        int from = (int) Math.min(pageable.getOffset(), venues.size());
+        int to = Math.min(from + pageable.getPageSize(), venues.size());
+        return new PageImpl<>(copyOf(venues.subList(from, to)), pageable, venues.size());
     }
 
     @Override
     public List<Venue> findAll() {
-        return venueDao.findAll();
+        return copyOf(snapshot().venues);
+    }
+
+    @Override
+    public Page<VenueSummary> findSummaries(Pageable pageable) {
+        return findAll(pageable).map(VenueSummary::of);
     }
 
     @Override
-    public int create(Venue venue) {
-        return venueDao.save(venue).getVenueID();
+    public synchronized int create(Venue venue) {
+        int id = venueDao.save(venue).getVenueID();
+        refresh();
+        return id;
     }
 
     @Override
-    public void update(Venue venue) {
+    public synchronized void update(Venue venue) {
         venueDao.save(venue);
+        refresh();
     }
 
     @Override
-    public void delById(int id) {
+    public synchronized void delById(int id) {
         venueDao.deleteById(id);
+        refresh();
     }
 
     @Override
     public int countVenueName(String venueName) {
-        return venueDao.countByVenueName(venueName);
+        int count = 0;
+        for (Venue venue : snapshot().venues) {
+            if (venue.getVenueName() != null && venue.getVenueName().equals(venueName)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从数据库重新加载快照；多节点部署时其他节点的修改靠定时刷新同步
+     */
+    @Scheduled(initialDelayString = "${demo.venue-cache.refresh-interval:60000}",
+            fixedDelayString = "${demo.venue-cache.refresh-interval:60000}")
+    public synchronized void refresh() {
+        snapshot = new Snapshot(venueDao.findAll());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static Venue copyOf(Venue venue) {
+        return new Venue(venue.getVenueID(), venue.getVenueName(), venue.getDescription(), venue.getPrice(),
+                venue.getPicture(), venue.getAddress(), venue.getOpen_time(), venue.getClose_time());
+    }
+
+    private static List<Venue> copyOf(List<Venue> venues) {
+        List<Venue> copies = new ArrayList<>(venues.size());
+        for (Venue venue : venues) {
+            copies.add(copyOf(venue));
+        }
+        return copies;
+    }
+
+    private static final class Snapshot {
+        final List<Venue> venues;
+        final Map<Integer, Venue> byID = new HashMap<>();
+        final Map<String, Venue> byName = new HashMap<>();
+
+        Snapshot(List<Venue> loaded) {
+            List<Venue> sorted = copyOf(loaded);
+            sorted.sort(Comparator.comparingInt(Venue::getVenueID));
+            for (Venue venue : sorted) {
+                byID.put(venue.getVenueID(), venue);
+                byName.putIfAbsent(venue.getVenueName(), venue);
+            }
+            venues = Collections.unmodifiableList(sorted);
+        }
     }
 }
@@ -0,0 +1,83 @@
+package com.demo.service.impl;
+
+import com.demo.dao.VenueDayStatDao;
+import com.demo.entity.Order;
+import com.demo.entity.vo.VenueStat;
+import com.demo.service.OrderService;
+import com.demo.service.VenueStatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class VenueStatServiceImpl implements VenueStatService {
+    @Autowired
+    private VenueDayStatDao venueDayStatDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void record(Order removed, Order added) {
+        if (removed != null) {
+            add(removed, -1);
+        }
+        if (added != null) {
+            add(added, 1);
+        }
+    }
+
+    @Override
+    public void recordTransition(Collection<Integer> orderIDs, int from, int to) {
+        if (orderIDs.isEmpty() || from == to) {
+            return;
+        }
+        int[] counts = new int[4];
+        count(counts, from, -1);
+        count(counts, to, 1);
+        int valueSign = (valued(to) ? 1 : 0) - (valued(from) ? 1 : 0);
+        venueDayStatDao.addTransition(orderIDs, valueSign, counts[0], counts[1], counts[2], counts[3]);
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        transactionTemplate.execute(status -> {
+            venueDayStatDao.clear();
+            return venueDayStatDao.rebuildFromOrders();
+        });
+    }
+
+    @Override
+    public List<VenueStat> sum(LocalDate from, LocalDate to) {
+        return venueDayStatDao.sumByVenue(from, to);
+    }
+
+    private void add(Order order, int sign) {
+        if (order.getStartTime() == null) {
+            return;
+        }
+        int[] counts = new int[4];
+        count(counts, order.getState(), sign);
+        boolean valued = valued(order.getState());
+        venueDayStatDao.add(order.getVenueID(), order.getStartTime().toLocalDate(),
+                valued ? (long) sign * order.getHours() : 0, valued ? (long) sign * order.getTotal() : 0,
+                counts[0], counts[1], counts[2], counts[3]);
+    }
+
+    private static void count(int[] counts, int state, int sign) {
+        if (state >= OrderService.STATE_NO_AUDIT && state <= OrderService.STATE_REJECT) {
+            counts[state - 1] += sign;
+        }
+    }
+
+    /**
+     * 只有已审核和已完成的订单计入时长和收入
+     */
+    private static boolean valued(int state) {
+        return state == OrderService.STATE_WAIT || state == OrderService.STATE_FINISH;
+    }
+}
@@ -0,0 +1,65 @@
+package com.demo.utils;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 批量审核的状态变更：按批开事务，锁住仍处于 from 状态的行，再用一条 update ... where id in (...) and state = from 改状态
+ */
+public final class BatchTransition {
+    /**
+     * 每条 update 的 in 列表上限
+     */
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     * 锁住 ids 中状态仍为 state 的行，返回锁住的 id
+     */
+    public interface LockInState {
+        List<Integer> lock(Collection<Integer> ids, int state);
+    }
+
+    /**
+     * 把 ids 中状态仍为 expected 的行改为 state
+     */
+    public interface UpdateStateIn {
+        int update(Collection<Integer> ids, int expected, int state);
+    }
+
+    private BatchTransition() {
+    }
+
+    public static List<Integer> run(TransactionTemplate transactionTemplate, List<Integer> ids, int from, int to,
+                                    LockInState lock, UpdateStateIn update) {
+        return run(transactionTemplate, ids, from, to, lock, update, changed -> { }, changed -> { });
+    }
+
+    /**
+     * @param inTransaction 与状态变更在同一事务中执行，参数为本批实际变更的 id
+     * @param afterCommit 每批提交后执行，参数同上
+     * @return 实际变更的 id
+     */
+    public static List<Integer> run(TransactionTemplate transactionTemplate, List<Integer> ids, int from, int to,
+                                    LockInState lock, UpdateStateIn update,
+                                    Consumer<List<Integer>> inTransaction, Consumer<List<Integer>> afterCommit) {
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+            List<Integer> locked = transactionTemplate.execute(status -> {
+                List<Integer> rows = lock.lock(chunk, from);
+                if (!rows.isEmpty()) {
+                    update.update(rows, from, to);
+                    inTransaction.accept(rows);
+                }
+                return rows;
+            });
+            afterCommit.accept(locked);
+            changed.addAll(locked);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.utils;
+
+import com.demo.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页的位置：上一页最后一行的 (时间, id)，编码成不透明字符串交给前端
+ */
+public class Cursor {
+
+    private final LocalDateTime time;
+
+    private final int id;
+
+    private Cursor(LocalDateTime time, int id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * time 为空时编码为空串，对应排在最后的、没有时间的行
+     */
+    public static String encode(LocalDateTime time, int id) {
+        String raw = (time == null ? "" : time.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token
+     * @return 为空时返回 null，表示从第一页开始
+     * @throws InvalidCursorException 游标被篡改或格式不对
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf('|');
+            String time = raw.substring(0, split);
+            return new Cursor(time.isEmpty() ? null : LocalDateTime.parse(time), Integer.parseInt(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("无效的分页游标", e);
+        }
+    }
+}
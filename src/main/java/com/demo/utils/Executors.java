@@ -0,0 +1,36 @@
+package com.demo.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 后台任务线程池
+ */
+public final class Executors {
+
+    private Executors() {
+    }
+
+    /**
+     * 固定线程数、有界队列的线程池，线程为守护线程，按 name-序号 命名
+     * @param name 线程名前缀
+     * @param threads 线程数
+     * @param capacity 队列容量
+     * @param policy 队列满时的处理方式
+     * @return
+     */
+    public static ThreadPoolExecutor bounded(String name, int threads, int capacity, RejectedExecutionHandler policy) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                policy);
+    }
+}
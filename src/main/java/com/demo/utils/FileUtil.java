@@ -1,57 +1,78 @@
 package com.demo.utils;
 
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ResourceUtils;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
-import java.util.UUID;
+import java.security.NoSuchAlgorithmException;
 
 public class FileUtil {
 
     /**
-     * 保存上传的文件
-     *
-     * @param picture
-     * @return 文件下载的url
-     * @throws Exception
+     * 场馆图片目录，相对静态资源根目录
      */
-    public static String saveVenueFile(MultipartFile picture) throws Exception {
+    public static final String VENUE_DIR = "file/venue";
 
-        if (picture.isEmpty()) {
-            return "";
-        }
-        String fileDirPath = ClassUtils.getDefaultClassLoader().getResource("static").getPath() + "/file/venue";
-        return "file/venue/" + savePicture(fileDirPath, picture);
+    /**
+     * 用户头像目录，相对静态资源根目录
+     */
+    public static final String USER_DIR = "file/user";
+
+    /**
+     * 上传文件所在的静态资源根目录，保存时返回的 url 相对于该目录
+     */
+    public static File staticRoot() {
+        return new File(ClassUtils.getDefaultClassLoader().getResource("static").getPath());
     }
 
-    public static String saveUserFile(MultipartFile picture) throws Exception{
-        if (picture.isEmpty()) {
-            return "";
+    /**
+     * 把流写入文件，写的同时计算 sha-256，不需要再读一遍
+     *
+     * @param in
+     * @param target
+     * @return 小写十六进制的摘要
+     * @throws IOException
+     */
+    public static String copyHashed(InputStream in, File target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        String fileDirPath = ClassUtils.getDefaultClassLoader().getResource("static").getPath() + "/file/user";
-        return "file/user/" + savePicture(fileDirPath, picture);
+        Files.copy(new DigestInputStream(in, digest), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        StringBuilder sb = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
     }
 
-    public static String savePicture(String filePath, MultipartFile picture) throws Exception{
-        File fileDir = new File(filePath);
-        System.out.println(fileDir.mkdirs());
-
-        String filename = picture.getOriginalFilename();
+    /**
+     * 同目录下改名，读者要么看不到文件，要么看到完整的文件
+     */
+    public static void publish(File temp, File target) throws IOException {
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 
-        System.out.println(fileDir.getAbsolutePath());
-        String suffixName = filename.substring(filename.lastIndexOf("."));
-        filename = UUID.randomUUID() + suffixName;
-        File newFile = new File(fileDir.getAbsolutePath() + File.separator + filename);
-        System.out.println(newFile.getAbsolutePath());
-        // 上传图片到 -》 “绝对路径”
-        picture.transferTo(newFile);
-        return filename;
+    /**
+     * 小写的后缀（含点），没有后缀或不像扩展名时为空串
+     */
+    public static String suffixOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        if (dot < 0 || dot < Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'))) {
+            return "";
+        }
+        String suffix = filename.substring(dot).toLowerCase();
+        return suffix.matches("\\.[a-z0-9]{1,10}") ? suffix : "";
     }
 
 }
@@ -0,0 +1,42 @@
+package com.demo.utils;
+
+/**
+ * 上传图片生成的尺寸，变体与原图同目录，文件名为 原名_后缀.jpg
+ */
+public enum PictureSize {
+    /**
+     * 头像、列表缩略图
+     */
+    THUMB("thumb", 160),
+    /**
+     * 首页、列表卡片
+     */
+    CARD("card", 480),
+    /**
+     * 详情页大图
+     */
+    FULL("full", 1600);
+
+    private final String suffix;
+
+    private final int maxEdge;
+
+    PictureSize(String suffix, int maxEdge) {
+        this.suffix = suffix;
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    /**
+     * file/venue/abc.png -> file/venue/abc_thumb.jpg
+     */
+    public String variantOf(String path) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        String base = dot > slash ? path.substring(0, dot) : path;
+        return base + "_" + suffix + ".jpg";
+    }
+}
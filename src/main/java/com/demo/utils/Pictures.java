@@ -0,0 +1,34 @@
+package com.demo.utils;
+
+import java.io.File;
+
+/**
+ * 模板中按场景取图片地址，变体还没生成或生成失败时退回原图
+ */
+public class Pictures {
+    private final File root;
+
+    public Pictures(File root) {
+        this.root = root;
+    }
+
+    public String thumb(String path) {
+        return variant(path, PictureSize.THUMB);
+    }
+
+    public String card(String path) {
+        return variant(path, PictureSize.CARD);
+    }
+
+    public String full(String path) {
+        return variant(path, PictureSize.FULL);
+    }
+
+    private String variant(String path, PictureSize size) {
+        if (path == null || path.isEmpty()) {
+            return path;
+        }
+        String variant = size.variantOf(path);
+        return new File(root, variant).isFile() ? variant : path;
+    }
+}
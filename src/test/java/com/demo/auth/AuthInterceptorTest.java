@@ -0,0 +1,79 @@
+package com.demo.auth;
+
+import com.demo.entity.User;
+import com.demo.entity.vo.SessionUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthInterceptorTest {
+
+    private final AuthInterceptor interceptor = new AuthInterceptor();
+
+    static class Pages {
+        @LoginRequired
+        public String page() {
+            return "page";
+        }
+
+        @LoginRequired
+        @ResponseBody
+        public String api() {
+            return "api";
+        }
+
+        public String open() {
+            return "open";
+        }
+    }
+
+    private HandlerMethod handler(String name) throws Exception {
+        return new HandlerMethod(new Pages(), name);
+    }
+
+    @Test
+    void loggedIn_ShouldExposePrincipal() throws Exception {
+        SessionUser user = SessionUser.of(new User());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession().setAttribute("user", user);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("page")));
+        assertSame(user, request.getAttribute(AuthInterceptor.PRINCIPAL));
+    }
+
+    @Test
+    void anonymousApi_ShouldReturn401() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("api")));
+        assertEquals(401, response.getStatus());
+        assertEquals("{\"message\":\"请登录！\"}", response.getContentAsString());
+        assertNull(request.getSession(false));
+    }
+
+    @Test
+    void anonymousPage_ShouldRedirectToLogin() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/app");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("page")));
+        assertEquals("/app/login", response.getRedirectedUrl());
+    }
+
+    @Test
+    void anonymousOpenRoute_ShouldPass() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("open")));
+        assertNull(request.getAttribute(AuthInterceptor.PRINCIPAL));
+        assertNull(request.getSession(false));
+    }
+}
@@ -0,0 +1,106 @@
+package com.demo.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class FileControllerTest {
+
+    private static final String NAME = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824.png";
+
+    @TempDir
+    Path root;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        File dir = root.resolve("file/venue").toFile();
+        assertTrue(dir.mkdirs());
+        Files.write(new File(dir, NAME).toPath(), "0123456789".getBytes());
+        FileController fileController = new FileController();
+        ReflectionTestUtils.setField(fileController, "root", root.toFile());
+        mockMvc = MockMvcBuilders.standaloneSetup(fileController).build();
+    }
+
+    @Test
+    void file_ShouldServeWithImmutableCacheHeaders() throws Exception {
+        mockMvc.perform(get("/file/venue/" + NAME))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes()))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string("Cache-Control", FileController.CACHE_CONTROL))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("ETag", "\"" + NAME + "-10\""));
+    }
+
+    @Test
+    void file_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/file/venue/" + NAME).header("If-None-Match", "\"" + NAME + "-10\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void file_ShouldServeSingleRange() throws Exception {
+        mockMvc.perform(get("/file/venue/" + NAME).header("Range", "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-4/10"))
+                .andExpect(content().bytes("234".getBytes()));
+
+        mockMvc.perform(get("/file/venue/" + NAME).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("789".getBytes()));
+    }
+
+    @Test
+    void file_ShouldServeWholeFile_WhenIfRangeIsStale() throws Exception {
+        mockMvc.perform(get("/file/venue/" + NAME).header("Range", "bytes=2-4").header("If-Range", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("0123456789".getBytes()));
+    }
+
+    @Test
+    void file_ShouldRejectRangeBeyondEnd() throws Exception {
+        mockMvc.perform(get("/file/venue/" + NAME).header("Range", "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void file_ShouldHandOffToSendfile_WhenContainerSupportsIt() throws Exception {
+        byte[] large = new byte[(int) FileController.SENDFILE_MIN_SIZE];
+        File file = root.resolve("file/venue/large.jpg").toFile();
+        Files.write(file.toPath(), large);
+
+        MvcResult result = mockMvc.perform(get("/file/venue/large.jpg")
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+        assertEquals(file.getAbsolutePath(), result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals((long) large.length, result.getRequest().getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void file_ShouldReturnNotFound_ForMissingOrUnsafeNames() throws Exception {
+        mockMvc.perform(get("/file/venue/missing.png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/file/venue/..%2Fsecret.txt"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/file/other/" + NAME))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,46 @@
+package com.demo.controller.admin;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.demo.entity.vo.CacheRegionStat;
+import com.demo.service.CacheStatService;
+
+@WebMvcTest(AdminCacheController.class)
+public class AdminCacheControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatService cacheStatService;
+
+    @Test
+    void testCacheStats() throws Exception {
+        when(cacheStatService.regions())
+                .thenReturn(Collections.singletonList(new CacheRegionStat("venue", 3, 1, 1, 0.75)));
+
+        mockMvc.perform(get("/admin/cacheStats.do"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("venue"))
+                .andExpect(jsonPath("$[0].hitCount").value(3))
+                .andExpect(jsonPath("$[0].missCount").value(1))
+                .andExpect(jsonPath("$[0].hitRatio").value(0.75));
+    }
+
+    @Test
+    void testResetCacheStats() throws Exception {
+        mockMvc.perform(post("/admin/resetCacheStats.do"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        verify(cacheStatService).reset();
+    }
+}
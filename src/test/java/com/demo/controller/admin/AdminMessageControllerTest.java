@@ -4,7 +4,6 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +12,13 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.demo.entity.Message;
 import com.demo.entity.vo.MessageVo;
+import com.demo.service.CountService;
+import com.demo.service.HomePageService;
 import com.demo.service.MessageService;
 import com.demo.service.MessageVoService;
 
@@ -37,55 +36,56 @@ public class AdminMessageControllerTest {
     @MockBean
     private MessageVoService messageVoService;
 
+    @MockBean
+    private HomePageService homePageService;
+
+    @MockBean
+    private CountService countService;
+
     @DisplayName("1.")
     @Test
     void testMessageManage_EmptyMessage() throws Exception {
-        Page<Message> page = new PageImpl<>(Collections.emptyList());
-        when(messageService.findWaitState(any())).thenReturn(page);
+        when(countService.countMessages(MessageService.STATE_NO_AUDIT)).thenReturn(0L);
 
         mockMvc.perform(get("/message_manage"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/message_manage"))
-                .andExpect(model().attributeExists("total"));
+                .andExpect(model().attribute("total", 0));
+        verify(messageService, never()).findWaitState(any());
     }
 
     @DisplayName("2.")
     @Test
     void testMessageManage_WithMessages() throws Exception {
-        // 创建两个示例 Message 对象（可设置必要属性）
-        Message msg1 = new Message();
-        Message msg2 = new Message();
-        List<Message> messageList = Arrays.asList(msg1, msg2);
-        // 构造一个非空分页对象，假设总记录数为20，分页大小为10，则 totalPages=2
-        Page<Message> page = new PageImpl<>(messageList, PageRequest.of(0, 10), 20);
-
-        when(messageService.findWaitState(any())).thenReturn(page);
+        // 总记录数为20，分页大小为10，则 totalPages=2
+        when(countService.countMessages(MessageService.STATE_NO_AUDIT)).thenReturn(20L);
 
         mockMvc.perform(get("/message_manage"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/message_manage"))
                 .andExpect(model().attributeExists("total"))
-                .andExpect(model().attribute("total", page.getTotalPages()));
+                .andExpect(model().attribute("total", 2));
     }
 
     @DisplayName("3.")
     @Test
     void testMessageManage_Exception() throws Exception {
-        when(messageService.findWaitState(any())).thenThrow(new RuntimeException("DB failed"));
+        when(countService.countMessages(MessageService.STATE_NO_AUDIT)).thenThrow(new RuntimeException("DB failed"));
 
         mockMvc.perform(get("/message_manage")).andExpect(status().is5xxServerError());
 
-        // currently if messageService.findWaitState throw out exception, there is no
+        // currently if countService.countMessages throw out exception, there is no
         // error handle
     }
 
     @DisplayName("4.")
     @Test
-    void testMessageManage_Null() throws Exception {
-        when(messageService.findWaitState(any())).thenReturn(null);
+    void testMessageManage_PartialLastPage() throws Exception {
+        when(countService.countMessages(MessageService.STATE_NO_AUDIT)).thenReturn(21L);
 
-        mockMvc.perform(get("/message_manage")).andExpect(status().is5xxServerError());
-        // also no handle if null is return from messageService
+        mockMvc.perform(get("/message_manage"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("total", 3));
     }
 
     @DisplayName("5.") // 正常获取第一页 MessageVo 列表
@@ -141,6 +141,7 @@ public class AdminMessageControllerTest {
                 .andExpect(content().string("true"));
 
         verify(messageService).confirmMessage(1);
+        verify(homePageService).evictMessages();
     }
 
     @DisplayName("10.") // 异常情况
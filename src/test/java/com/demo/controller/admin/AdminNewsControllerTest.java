@@ -1,6 +1,9 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.NewsSummary;
+import com.demo.service.CountService;
+import com.demo.service.HomePageService;
 import com.demo.service.NewsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +38,12 @@ public class AdminNewsControllerTest {
     @MockBean
     private NewsService newsService;
 
+    @MockBean
+    private HomePageService homePageService;
+
+    @MockBean
+    private CountService countService;
+
     private News testNews;
     private News testNews2;
 
@@ -58,8 +67,7 @@ public class AdminNewsControllerTest {
     @DisplayName("1.1 测试新闻管理页面 - 有新闻数据")
     @Test
     public void testNewsManage_WithNews() throws Exception {
-        Page<News> page = new PageImpl<>(Arrays.asList(testNews, testNews2), PageRequest.of(0, 10), 2);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(countService.countNews()).thenReturn(2L);
 
         mockMvc.perform(get("/news_manage"))
                 .andDo(MockMvcResultHandlers.print())
@@ -67,13 +75,13 @@ public class AdminNewsControllerTest {
                 .andExpect(model().attributeExists("total"))
                 .andExpect(model().attribute("total", 1))
                 .andExpect(view().name("admin/news_manage"));
+        Mockito.verify(newsService, Mockito.never()).findAll(ArgumentMatchers.any(Pageable.class));
     }
 
     @DisplayName("1.2 测试新闻管理页面 - 无新闻数据")
     @Test
     public void testNewsManage_NoNews() throws Exception {
-        Page<News> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(emptyPage);
+        Mockito.when(countService.countNews()).thenReturn(0L);
 
         mockMvc.perform(get("/news_manage"))
                 .andDo(MockMvcResultHandlers.print())
@@ -86,7 +94,7 @@ public class AdminNewsControllerTest {
     @DisplayName("1.3 测试新闻管理页面 - 服务层异常")
     @Test
     public void testNewsManage_ServiceException() throws Exception {
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(countService.countNews()).thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/news_manage"))
                 .andDo(MockMvcResultHandlers.print())
@@ -164,7 +172,7 @@ public class AdminNewsControllerTest {
     @Test
     public void testGetNewsList_DefaultPage() throws Exception {
         Page<News> page = new PageImpl<>(Arrays.asList(testNews), PageRequest.of(0, 10), 1);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenReturn(summaries(page));
 
         mockMvc.perform(get("/newsList.do"))
                 .andDo(MockMvcResultHandlers.print())
@@ -177,8 +185,8 @@ public class AdminNewsControllerTest {
     @Test
     public void testGetNewsList_Page2() throws Exception {
         Page<News> page = new PageImpl<>(Arrays.asList(testNews), PageRequest.of(1, 10), 20);
-        Mockito.when(newsService.findAll(argThat(pageable -> pageable.getPageNumber() == 1)))
-                .thenReturn(page);
+        Mockito.when(newsService.findSummaries(argThat(pageable -> pageable.getPageNumber() == 1)))
+                .thenReturn(summaries(page));
 
         mockMvc.perform(get("/newsList.do?page=2"))
                 .andDo(MockMvcResultHandlers.print())
@@ -191,7 +199,7 @@ public class AdminNewsControllerTest {
     @Test
     public void testGetNewsList_Empty() throws Exception {
         Page<News> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(emptyPage);
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenReturn(summaries(emptyPage));
 
         mockMvc.perform(get("/newsList.do"))
                 .andDo(MockMvcResultHandlers.print())
@@ -227,7 +235,7 @@ public class AdminNewsControllerTest {
     @DisplayName("4.7 测试获取新闻列表API - 服务层异常")
     @Test
     public void testGetNewsList_ServiceException() throws Exception {
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/newsList.do"))
                 .andDo(MockMvcResultHandlers.print())
@@ -246,6 +254,7 @@ public class AdminNewsControllerTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(content().string("true"));
+        Mockito.verify(homePageService).evictNews();
     }
 
     @DisplayName("5.2 测试删除新闻 - 新闻不存在")
@@ -400,4 +409,8 @@ public class AdminNewsControllerTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().is5xxServerError());
     }
+
+    private static Page<NewsSummary> summaries(Page<News> page) {
+        return page.map(news -> new NewsSummary(news.getNewsID(), news.getTitle(), news.getContent(), news.getTime()));
+    }
 }
\ No newline at end of file
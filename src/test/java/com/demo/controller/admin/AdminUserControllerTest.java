@@ -7,12 +7,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.UserSummary;
+import com.demo.service.ImageService;
 import com.demo.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -27,6 +30,9 @@ public class AdminUserControllerTest{
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private ImageService imageService;
+
     private User testUser;
 
     @BeforeEach
@@ -43,31 +49,33 @@ public class AdminUserControllerTest{
     // 测试user_manage页面加载
     @Test
     void userManage_ShouldReturnViewWithPaginationData() throws Exception {
-        Page<User> mockPage = new PageImpl<>(Collections.singletonList(testUser),
-                PageRequest.of(0, 10), 1);
-        when(userService.findByUserID(any(Pageable.class))).thenReturn(mockPage);
+        when(userService.countUsers()).thenReturn(11L);
 
         mockMvc.perform(get("/user_manage"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/user_manage"))
                 .andExpect(model().attributeExists("total"))
-                .andExpect(model().attribute("total", 1));
+                .andExpect(model().attribute("total", 2));
+        verify(userService, never()).findByUserID(any(Pageable.class));
     }
 
     // 测试userList.do分页查询
     @Test
     void userList_WithValidPage_ShouldReturnUserList() throws Exception {
-        Page<User> mockPage = new PageImpl<>(Collections.singletonList(testUser));
-        when(userService.findByUserID(any(Pageable.class))).thenReturn(mockPage);
+        UserSummary summary = new UserSummary(testUser.getId(), testUser.getUserID(), testUser.getUserName(),
+                testUser.getEmail(), testUser.getPhone());
+        when(userService.findSummaries(any(Pageable.class))).thenReturn(Collections.singletonList(summary));
 
         mockMvc.perform(get("/userList.do").param("page", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].userID").value("testUser"));
+                .andExpect(jsonPath("$[0].userID").value("testUser"))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+        verify(userService, never()).findByUserID(any(Pageable.class));
     }
 
     @Test
     void userList_WithPageZero_ShouldHandleException() throws Exception {
-        when(userService.findByUserID(any(Pageable.class)))
+        when(userService.findSummaries(any(Pageable.class)))
                 .thenThrow(new IllegalArgumentException("Page index must not be less than zero"));
 
         mockMvc.perform(get("/userList.do").param("page", "0"))
@@ -94,6 +102,18 @@ public class AdminUserControllerTest{
     }
 
     // 测试添加用户
+    @Test
+    void addUser_WhenUserIDTaken_ShouldReturnConflict() throws Exception {
+        when(userService.create(any(User.class))).thenThrow(new DataIntegrityViolationException("idx_user_id"));
+
+        mockMvc.perform(post("/addUser.do")
+                        .param("userID", "test")
+                        .param("userName", "New User")
+                        .param("password", "pwd"))
+                .andExpect(status().isConflict())
+                .andExpect(status().reason("用户名已存在"));
+    }
+
     @Test
     void addUser_WithValidData_ShouldRedirect() throws Exception {
         mockMvc.perform(post("/addUser.do")
@@ -187,6 +207,17 @@ public class AdminUserControllerTest{
         verify(userService).delByID(1);
     }
 
+    @Test
+    void delUser_ShouldReleasePicture() throws Exception {
+        testUser.setPicture("file/user/abc.png");
+        when(userService.findById(1)).thenReturn(testUser);
+
+        mockMvc.perform(post("/delUser.do").param("id", "1"))
+                .andExpect(status().isOk());
+
+        verify(imageService).release("file/user/abc.png");
+    }
+
     @Test
     void delUser_WithInvalidId() throws Exception {
         mockMvc.perform(post("/delUser.do").param("id", "999"))
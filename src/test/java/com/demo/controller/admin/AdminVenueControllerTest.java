@@ -2,7 +2,11 @@ package com.demo.controller.admin;
 
 import com.demo.entity.User;
 import com.demo.entity.Venue;
+import com.demo.entity.vo.VenueSummary;
+import com.demo.service.HomePageService;
+import com.demo.service.ImageService;
 import com.demo.service.VenueService;
+import com.demo.service.VenueStatService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,10 +25,12 @@ import org.springframework.data.domain.*;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.util.NestedServletException;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +38,7 @@ import java.util.Objects;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.NonUniqueResultException;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -46,6 +53,12 @@ class AdminVenueControllerTest {
     private MockMvc mockMvc;
     @MockBean
     private VenueService venueService;
+    @MockBean
+    private VenueStatService venueStatService;
+    @MockBean
+    private ImageService imageService;
+    @MockBean
+    private HomePageService homePageService;
 
     private static final String VENUE_NAME = "venue";
     private static final String ADDRESS = "address";
@@ -164,10 +177,10 @@ class AdminVenueControllerTest {
         Venue venue = createTestVenue();
         List<Venue> venues = new ArrayList<>();
         venues.add(venue);
-        when(venueService.findAll(DEFAULT_PAGEABLE)).thenReturn(new PageImpl<>(venues, DEFAULT_PAGEABLE, 1));
+        when(venueService.findSummaries(DEFAULT_PAGEABLE)).thenReturn(new PageImpl<>(venues, DEFAULT_PAGEABLE, 1).map(VenueSummary::of));
         mockMvc.perform(get("/venueList.do").param("page", "1"))
                 .andExpect(status().isOk());
-        verify(venueService).findAll(DEFAULT_PAGEABLE);
+        verify(venueService).findSummaries(DEFAULT_PAGEABLE);
     }
 
     @Test
@@ -178,11 +191,11 @@ class AdminVenueControllerTest {
                 new Venue(1, "venue_name", "description", 1, "picture", "address", OPEN_TIME,
                         CLOSE_TIME)),
                 DEFAULT_PAGEABLE, 1);
-        when(venueService.findAll(DEFAULT_PAGEABLE))
-                .thenReturn(page);
+        when(venueService.findSummaries(DEFAULT_PAGEABLE))
+                .thenReturn(page.map(VenueSummary::of));
         mockMvc.perform(get("/venueList.do?page=1").session((MockHttpSession) request.getSession()))
                 .andExpect(status().isUnauthorized());
-        verify(venueService).findAll(DEFAULT_PAGEABLE);
+        verify(venueService).findSummaries(DEFAULT_PAGEABLE);
     }
 
     @Test
@@ -191,14 +204,15 @@ class AdminVenueControllerTest {
                 new Venue(1, "venue_name", "description", 1, "picture", "address", OPEN_TIME,
                         CLOSE_TIME)),
                 DEFAULT_PAGEABLE, 1);
-        when(venueService.findAll(DEFAULT_PAGEABLE))
-                .thenReturn(page);
+        when(venueService.findSummaries(DEFAULT_PAGEABLE))
+                .thenReturn(page.map(VenueSummary::of));
         mockMvc.perform(get("/venueList.do"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(
-                        "[{\"venueID\":1,\"venueName\":\"venue_name\",\"description\":\"description\",\"price\":1,\"picture\":\"picture\",\"address\":\"address\",\"open_time\":\""
-                                + OPEN_TIME + "\",\"close_time\":\"" + CLOSE_TIME + "\"}]"));
-        verify(venueService).findAll(DEFAULT_PAGEABLE);
+                        "[{\"venueID\":1,\"venueName\":\"venue_name\",\"price\":1,\"picture\":\"picture\",\"address\":\"address\",\"open_time\":\""
+                                + OPEN_TIME + "\",\"close_time\":\"" + CLOSE_TIME + "\"}]"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+        verify(venueService).findSummaries(DEFAULT_PAGEABLE);
     }
 
     @ParameterizedTest
@@ -546,6 +560,17 @@ class AdminVenueControllerTest {
         mockMvc.perform(post("/delVenue.do").param("venueID", "1"))
                 .andExpect(status().isOk());
         verify(venueService).delById(anyInt());
+        verify(homePageService).evictVenues();
+    }
+
+    @Test
+    public void testDelVenueWhenVenueAlreadyGone() throws Exception {
+        when(venueService.findByVenueID(1)).thenThrow(new EntityNotFoundException("场馆不存在"));
+        mockMvc.perform(post("/delVenue.do").param("venueID", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        verify(venueService).delById(1);
+        verify(imageService, never()).release(any());
     }
 
     @Test
@@ -625,4 +650,46 @@ class AdminVenueControllerTest {
         mockMvc.perform(post("/checkVenueName.do"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testVenueStatsByMonth() throws Exception {
+        when(venueStatService.sum(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28))).thenReturn(Collections.emptyList());
+        mockMvc.perform(get("/admin/venueStats.do").param("year", "2025").param("month", "2"))
+                .andExpect(status().isOk());
+        verify(venueStatService).sum(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "13", "-1"})
+    public void testVenueStatsWhenMonthInvalid(String month) throws Exception {
+        mockMvc.perform(get("/admin/venueStats.do").param("year", "2025").param("month", month))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(venueStatService);
+    }
+
+    @Test
+    public void testVenueStatsWhenYearOutOfRange() throws Exception {
+        mockMvc.perform(get("/admin/venueStats.do").param("year", "1000000000"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(venueStatService);
+    }
+
+    @Test
+    public void testModifyVenueReleasesNewPictureWhenUpdateFails() throws Exception {
+        when(venueService.findByVenueID(1)).thenReturn(createTestVenue());
+        when(imageService.saveVenuePicture(any())).thenReturn("file/venue/new.jpg");
+        doThrow(new RuntimeException("保存失败")).when(venueService).update(any());
+        MockMultipartFile file = new MockMultipartFile("picture", "test.jpg", "image/jpg", new byte[]{1});
+        assertThrows(NestedServletException.class, () -> mockMvc.perform(MockMvcRequestBuilders.multipart("/modifyVenue.do")
+                .file(file)
+                .param("venueID", "1")
+                .param("venueName", VENUE_NAME)
+                .param("address", ADDRESS)
+                .param("description", DESCRIPTION)
+                .param("price", PRICE)
+                .param("open_time", OPEN_TIME)
+                .param("close_time", CLOSE_TIME)));
+        verify(imageService).release("file/venue/new.jpg");
+        verify(imageService, never()).release(createTestVenue().getPicture());
+    }
+}
@@ -2,10 +2,13 @@ package com.demo.controller.user;
 
 import com.demo.entity.Message;
 import com.demo.entity.User;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.MessageVo;
+import com.demo.entity.vo.SessionUser;
+import com.demo.service.CountService;
+import com.demo.service.HomePageService;
 import com.demo.service.MessageService;
 import com.demo.service.MessageVoService;
-import com.demo.exception.LoginException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,32 +49,39 @@ public class MessageControllerTest {
         @MockBean
         private MessageVoService messageVoService;
 
+        @MockBean
+        private HomePageService homePageService;
+
+        @MockBean
+        private CountService countService;
+
         private MockHttpSession session;
-        private User testUser;
+        private SessionUser testUser;
 
         @BeforeEach
         public void setup() {
-                testUser = new User();
-                testUser.setUserID("user123");
+                User user = new User();
+                user.setUserID("user123");
+                testUser = SessionUser.of(user);
                 session = new MockHttpSession();
                 session.setAttribute("user", testUser);
         }
 
         @DisplayName("1.") // 未登录
         @Test
-        public void testMessageList_Unauthenticated_ShouldThrowLoginException() throws Exception {
+        public void testMessageList_Unauthenticated_ShouldRedirectToLogin() throws Exception {
                 mockMvc.perform(get("/message_list"))
-                                .andExpect(status().isInternalServerError())
-                                .andExpect(result -> assertTrue(
-                                                result.getResolvedException() instanceof LoginException));
+                                .andExpect(status().is3xxRedirection())
+                                .andExpect(redirectedUrl("/login"));
+                Mockito.verifyNoInteractions(messageVoService);
         }
 
         @DisplayName("2.") // 登录用户无留言
         @Test
         public void testMessageList_Authenticated_NoMessages() throws Exception {
-                Page<Message> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 5), 0);
-                Mockito.when(messageService.findPassState(any())).thenReturn(emptyPage);
-                Mockito.when(messageService.findByUser(eq(testUser.getUserID()), any())).thenReturn(emptyPage);
+                Mockito.when(messageService.findPassFeed(null, 5)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
+                Mockito.when(countService.countMessages(MessageService.STATE_PASS)).thenReturn(0L);
+                Mockito.when(countService.countUserMessages(testUser.getUserID())).thenReturn(0L);
                 Mockito.when(messageVoService.returnVo(anyList())).thenReturn(Collections.emptyList());
 
                 mockMvc.perform(get("/message_list").session(session))
@@ -85,16 +95,18 @@ public class MessageControllerTest {
         @Test
         public void testMessageList_Authenticated_WithMessages() throws Exception {
                 Message msg = new Message();
-                Page<Message> page = new PageImpl<>(Arrays.asList(msg), PageRequest.of(0, 5), 1);
-                Mockito.when(messageService.findPassState(any())).thenReturn(page);
-                Mockito.when(messageService.findByUser(eq(testUser.getUserID()), any())).thenReturn(page);
+                Mockito.when(messageService.findPassFeed(null, 5)).thenReturn(new CursorPage<>(Arrays.asList(msg), null));
+                Mockito.when(countService.countMessages(MessageService.STATE_PASS)).thenReturn(6L);
+                Mockito.when(countService.countUserMessages(testUser.getUserID())).thenReturn(1L);
                 Mockito.when(messageVoService.returnVo(anyList())).thenReturn(Arrays.asList(new MessageVo()));
 
                 mockMvc.perform(get("/message_list").session(session))
                                 .andExpect(status().isOk())
-                                .andExpect(model().attribute("total", 1))
+                                .andExpect(model().attribute("total", 2))
                                 .andExpect(model().attribute("user_total", 1))
                                 .andExpect(view().name("message_list"));
+                Mockito.verify(messageService, Mockito.never()).findPassState(any());
+                Mockito.verify(messageService, Mockito.never()).findByUser(any(), any());
         }
 
         @DisplayName("4.") // 默认分页 /message/getMessageList
@@ -123,11 +135,11 @@ public class MessageControllerTest {
 
         @DisplayName("6.") // 未登录用户查留言
         @Test
-        public void testFindUserMessages_Unauthenticated_ShouldThrow() throws Exception {
+        public void testFindUserMessages_Unauthenticated_ShouldReturn401() throws Exception {
                 mockMvc.perform(get("/message/findUserList"))
-                                .andExpect(status().isInternalServerError())
-                                .andExpect(result -> assertTrue(
-                                                result.getResolvedException() instanceof LoginException));
+                                .andExpect(status().isUnauthorized())
+                                .andExpect(jsonPath("$.message").value("请登录！"));
+                Mockito.verifyNoInteractions(messageService);
         }
 
         @DisplayName("7.") // 登录用户有留言
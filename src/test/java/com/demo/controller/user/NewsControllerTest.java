@@ -1,7 +1,11 @@
 package com.demo.controller.user;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.NewsSummary;
+import com.demo.exception.InvalidCursorException;
 //import com.demo.exception.NewsNotFoundException;
+import com.demo.service.CountService;
 import com.demo.service.NewsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -37,6 +41,9 @@ public class NewsControllerTest {
     @MockBean
     private NewsService newsService;
 
+    @MockBean
+    private CountService countService;
+
     private News testNews;
     private News testNews2;
 
@@ -119,8 +126,8 @@ public class NewsControllerTest {
     @DisplayName("2.1 测试获取新闻列表页面 - 有新闻")
     @Test
     public void testNewsListPage_WithNews() throws Exception {
-        Page<News> page = new PageImpl<>(Arrays.asList(testNews, testNews2), PageRequest.of(0, 5), 2);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(newsService.findFeed(null, 5)).thenReturn(new CursorPage<>(Arrays.asList(testNews, testNews2), null));
+        Mockito.when(countService.countNews()).thenReturn(2L);
 
         mockMvc.perform(get("/news_list"))
                 .andDo(MockMvcResultHandlers.print())
@@ -129,13 +136,15 @@ public class NewsControllerTest {
                 .andExpect(model().attribute("news_list", hasSize(2)))
                 .andExpect(model().attribute("total", 1)) // 每页5条，2条数据共1页
                 .andExpect(view().name("news_list"));
+        // 第一页和总页数都不走分页查询
+        Mockito.verify(newsService, Mockito.never()).findAll(ArgumentMatchers.any(Pageable.class));
     }
 
     @DisplayName("2.2 测试获取新闻列表页面 - 无新闻")
     @Test
     public void testNewsListPage_NoNews() throws Exception {
-        Page<News> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 5), 0);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(emptyPage);
+        Mockito.when(newsService.findFeed(null, 5)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
+        Mockito.when(countService.countNews()).thenReturn(0L);
 
         mockMvc.perform(get("/news_list"))
                 .andDo(MockMvcResultHandlers.print())
@@ -149,7 +158,7 @@ public class NewsControllerTest {
     @DisplayName("2.3 测试获取新闻列表页面 - 服务层异常")
     @Test
     public void testNewsListPage_ServiceException() throws Exception {
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(newsService.findFeed(null, 5)).thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/news_list"))
                 .andDo(MockMvcResultHandlers.print())
@@ -162,13 +171,15 @@ public class NewsControllerTest {
     @Test
     public void testGetNewsList_DefaultPage() throws Exception {
         Page<News> page = new PageImpl<>(Arrays.asList(testNews), PageRequest.of(0, 5), 1);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenReturn(summaries(page));
 
         mockMvc.perform(get("/news/getNewsList"))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].preview").value("Test Content 1"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
@@ -176,8 +187,8 @@ public class NewsControllerTest {
     @Test
     public void testGetNewsList_Page2() throws Exception {
         Page<News> page = new PageImpl<>(Arrays.asList(testNews), PageRequest.of(1, 5), 10);
-        Mockito.when(newsService.findAll(argThat(pageable -> pageable.getPageNumber() == 1)))
-                .thenReturn(page);
+        Mockito.when(newsService.findSummaries(argThat(pageable -> pageable.getPageNumber() == 1)))
+                .thenReturn(summaries(page));
 
         mockMvc.perform(get("/news/getNewsList?page=2"))
                 .andDo(MockMvcResultHandlers.print())
@@ -191,7 +202,7 @@ public class NewsControllerTest {
     @Test
     public void testGetNewsList_Empty() throws Exception {
         Page<News> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 5), 0);
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(emptyPage);
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenReturn(summaries(emptyPage));
 
         mockMvc.perform(get("/news/getNewsList"))
                 .andDo(MockMvcResultHandlers.print())
@@ -228,7 +239,7 @@ public class NewsControllerTest {
     @DisplayName("3.7 测试获取新闻列表API - 服务层异常")
     @Test
     public void testGetNewsList_ServiceException() throws Exception {
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/news/getNewsList"))
                 .andDo(MockMvcResultHandlers.print())
@@ -240,7 +251,7 @@ public class NewsControllerTest {
     public void testGetNewsList_MultiplePages() throws Exception {
         List<News> newsList = Arrays.asList(testNews, testNews2, new News(), new News(), new News(), new News());
         Page<News> page = new PageImpl<>(newsList.subList(0, 5), PageRequest.of(0, 5), newsList.size());
-        Mockito.when(newsService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(newsService.findSummaries(ArgumentMatchers.any(Pageable.class))).thenReturn(summaries(page));
 
         mockMvc.perform(get("/news/getNewsList"))
                 .andDo(MockMvcResultHandlers.print())
@@ -255,9 +266,9 @@ public class NewsControllerTest {
     public void testGetNewsList_SortOrder() throws Exception {
         List<News> newsList = Arrays.asList(testNews2, testNews); // testNews2时间更早
         Page<News> page = new PageImpl<>(newsList, PageRequest.of(0, 5, Sort.by("time").descending()), 2);
-        Mockito.when(newsService.findAll(argThat(pageable ->
+        Mockito.when(newsService.findSummaries(argThat(pageable ->
                 pageable.getSort().equals(Sort.by("time").descending())
-        ))).thenReturn(page);
+        ))).thenReturn(summaries(page));
 
         mockMvc.perform(get("/news/getNewsList"))
                 .andDo(MockMvcResultHandlers.print())
@@ -265,4 +276,18 @@ public class NewsControllerTest {
                 .andExpect(jsonPath("$.content[0].newsID").value(1)) // 应该testNews在前
                 .andExpect(jsonPath("$.content[1].newsID").value(2));
     }
+
+    @DisplayName("4.1 测试新闻游标分页API - 游标无效")
+    @Test
+    public void testGetNewsFeed_InvalidCursor() throws Exception {
+        Mockito.when(newsService.findFeed("bad", 5))
+                .thenThrow(new InvalidCursorException("无效的分页游标", null));
+
+        mockMvc.perform(get("/news/getNewsFeed").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Page<NewsSummary> summaries(Page<News> page) {
+        return page.map(news -> new NewsSummary(news.getNewsID(), news.getTitle(), news.getContent(), news.getTime()));
+    }
 }
\ No newline at end of file
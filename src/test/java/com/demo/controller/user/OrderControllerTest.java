@@ -4,22 +4,26 @@ import com.demo.entity.Order;
 import com.demo.entity.User;
 import com.demo.entity.Venue;
 import com.demo.entity.vo.OrderVo;
+import com.demo.entity.vo.SessionUser;
 import com.demo.entity.vo.VenueOrder;
+import com.demo.exception.OrderConflictException;
+import com.demo.service.CountService;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
 import com.demo.service.VenueService;
-import com.demo.exception.LoginException;
+import com.demo.auth.LoginRequired;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpStatus;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,7 +46,7 @@ class OrderControllerTest {
     private VenueService venueService;
 
     @Mock
-    private HttpServletRequest request;
+    private CountService countService;
 
     @Mock
     private HttpServletResponse response;
@@ -58,57 +62,67 @@ class OrderControllerTest {
     @Test
     void testOrderManageWithLogin() {
         // Given
-        User user = new User();
-        when(request.getSession()).thenReturn(mock(HttpSession.class));
-        when(request.getSession().getAttribute("user")).thenReturn(user);
+        SessionUser user = SessionUser.of(new User());
 
         // When
-        String viewName = orderController.order_manage(model, request);
+        when(countService.countUserOrders(user.getUserID())).thenReturn(6L);
+        String viewName = orderController.order_manage(model, user);
 
         // Then
         assertEquals("order_manage", viewName);
-        verify(orderService).findUserOrder(any(), any());
+        verify(model).addAttribute("total", 2);
+        verify(orderService, never()).findUserOrder(any(), any());
     }
 
     @Test
-    void testOrderManageWithoutLogin() {
-        // Given
-        when(request.getSession().getAttribute("user")).thenReturn(null);
-
-        // When & Then
-        assertThrows(LoginException.class, () -> orderController.order_manage(model, request));
+    void testOrderManageRequiresLogin() throws Exception {
+        // 未登录的请求由 AuthInterceptor 拦截，不会进入控制器
+        assertNotNull(OrderController.class.getMethod("order_manage", Model.class, SessionUser.class)
+                .getAnnotation(LoginRequired.class));
     }
 
     @Test
     void testGetOrderList() {
         // Given
         List<OrderVo> orderVos = new ArrayList<>();
-        User user = new User();
-        when(request.getSession().getAttribute("user")).thenReturn(user);
-        when(orderVoService.returnVo(any())).thenReturn(orderVos);
+        SessionUser user = SessionUser.of(new User());
+        when(orderVoService.findUserOrderVo(any(), any())).thenReturn(new PageImpl<>(orderVos));
 
         // When
-        List<OrderVo> result = orderController.order_list(1, request);
+        List<OrderVo> result = orderController.order_list(1, user);
 
         // Then
         assertEquals(orderVos, result);
-        verify(orderService).findUserOrder(any(), any());
+        verify(orderVoService).findUserOrderVo(any(), any());
+        verify(orderVoService, never()).returnVo(any());
     }
 
     @Test
     void testAddOrder() throws Exception {
         // Given
-        User user = new User();
-        when(request.getSession().getAttribute("user")).thenReturn(user);
+        SessionUser user = SessionUser.of(new User());
 
         // When
-        orderController.addOrder("Venue1", "2025-01-01", "10:00", 2, request, response);
+        orderController.addOrder("Venue1", "2025-01-01", "10:00", 2, user, response);
 
         // Then
         verify(orderService).submit(any(), any(), any(), any());
         verify(response).sendRedirect("order_manage");
     }
 
+    @Test
+    void testAddOrderConflictIsNotServerError() throws Exception {
+        SessionUser user = SessionUser.of(new User());
+        doThrow(new OrderConflictException("该时段已被预约")).when(orderService).submit(any(), any(), anyInt(), any());
+
+        OrderConflictException thrown = assertThrows(OrderConflictException.class,
+                () -> orderController.addOrder("Venue1", "2025-01-01", "2025-01-01 10:00", 2, user, response));
+
+        assertEquals("该时段已被预约", thrown.getMessage());
+        assertEquals(HttpStatus.CONFLICT, OrderConflictException.class.getAnnotation(ResponseStatus.class).value());
+        verify(response, never()).sendRedirect(any());
+    }
+
     @Test
     void testFinishOrder() {
         // When
@@ -1,16 +1,22 @@
 package com.demo.controller.user;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.SessionUser;
+import com.demo.service.ImageService;
 import com.demo.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.util.NestedServletException;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -23,6 +29,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private ImageService imageService;
+
     @Test
     public void testSignUp() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/signup"))
@@ -44,6 +53,18 @@ public class UserControllerTest {
                 .andExpect(view().name("user_info"));
     }
 
+    @Test
+    public void testUser_infoLoadsProfileForSessionUser() throws Exception {
+        User profile = new User(3, "user123", "name", "password", "a@b.com", "123", 0, "");
+        when(userService.findProfile(3)).thenReturn(profile);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("user", SessionUser.of(profile));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/user_info").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("profile", profile));
+    }
+
 
     // Test cases for loginCheck.do
     @Test
@@ -56,7 +77,7 @@ public class UserControllerTest {
                         .param("userID", "user123")
                         .param("password", "password123"))
                 .andExpect(content().string("/index"))
-                .andExpect(request().sessionAttribute("user", mockUser));
+                .andExpect(request().sessionAttribute("user", SessionUser.of(mockUser)));
     }
 
     @Test
@@ -69,7 +90,7 @@ public class UserControllerTest {
                         .param("userID", "admin123")
                         .param("password", "adminPass"))
                 .andExpect(content().string("/admin_index"))
-                .andExpect(request().sessionAttribute("admin", mockAdmin));
+                .andExpect(request().sessionAttribute("admin", SessionUser.of(mockAdmin)));
     }
 
     @Test
@@ -97,6 +118,18 @@ public class UserControllerTest {
         verify(userService, times(1)).create(any(User.class));
     }
 
+    @Test
+    public void testUserRegistrationWhenUserIDTaken() throws Exception {
+        when(userService.create(any(User.class))).thenThrow(new DataIntegrityViolationException("idx_user_id"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/register.do")
+                        .param("userID", "test")
+                        .param("userName", "New User")
+                        .param("password", "newPass"))
+                .andExpect(status().isConflict())
+                .andExpect(status().reason("用户名已存在"));
+    }
+
     // Test cases for updateUser.do
     @Test
     public void testUpdateUserWithPasswordAndPicture() throws Exception {
@@ -122,11 +155,33 @@ public class UserControllerTest {
                         .param("phone", "0987654321")
                         .session(session))
                 .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("user_info"));
+                .andExpect(redirectedUrl("user_info"))
+                .andExpect(request().sessionAttribute("user", SessionUser.of(existingUser)));
 
         verify(userService, times(1)).updateUser(existingUser);
     }
 
+    @Test
+    public void testUpdateUserReleasesNewPictureWhenSaveFails() throws Exception {
+        User existingUser = new User();
+        existingUser.setUserID("user123");
+        existingUser.setPicture("file/user/old.jpg");
+        when(userService.findByUserID("user123")).thenReturn(existingUser);
+        when(imageService.saveUserPicture(any())).thenReturn("file/user/new.jpg");
+        doThrow(new RuntimeException("保存失败")).when(userService).updateUser(existingUser);
+
+        MockMultipartFile file = new MockMultipartFile("picture", "test.jpg", "image/jpeg", "test image content".getBytes());
+
+        assertThrows(NestedServletException.class, () -> mockMvc.perform(MockMvcRequestBuilders.multipart("/updateUser.do")
+                .file(file)
+                .param("userName", "Updated Name")
+                .param("userID", "user123")
+                .param("email", "updated@example.com")
+                .param("phone", "0987654321")));
+        verify(imageService).release("file/user/new.jpg");
+        verify(imageService, never()).release("file/user/old.jpg");
+    }
+
     // Test cases for checkPassword.do
     @Test
     public void testCheckPasswordCorrect() throws Exception {
@@ -1,6 +1,8 @@
 package com.demo.controller.user;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.VenueSummary;
+import com.demo.service.VenueSearchService;
 import com.demo.service.VenueService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -11,11 +13,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
 import org.springframework.test.web.servlet.MockMvc;
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +33,9 @@ public class UserVenueControllerTests {
         @MockBean
         private VenueService venueService;
 
+        @MockBean
+        private VenueSearchService venueSearchService;
+
         private Pageable getPageable(int page, int size) {
                 return PageRequest.of(page, size, Sort.by("venueID").ascending());
         }
@@ -88,14 +95,14 @@ public class UserVenueControllerTests {
                                 new Venue(1, "venue_name", "description", 1, "picture", "address", "09:00", "20:00")),
                                 venue_pageable,
                                 1);
-                when(venueService.findAll(venue_pageable))
-                                .thenReturn(page);
+                when(venueService.findSummaries(venue_pageable))
+                                .thenReturn(page.map(VenueSummary::of));
                 mockMvc.perform(get("/venuelist/getVenueList?page=1"))
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType("application/json"))
                                 .andExpect(jsonPath("$.content[0].venueID").value(1))
                                 .andExpect(jsonPath("$.content[0].venueName").value("venue_name"))
-                                .andExpect(jsonPath("$.content[0].description").value("description"))
+                                .andExpect(jsonPath("$.content[0].description").doesNotExist())
                                 .andExpect(jsonPath("$.content[0].price").value(1))
                                 .andExpect(jsonPath("$.content[0].picture").value("picture"))
                                 .andExpect(jsonPath("$.content[0].address").value("address"))
@@ -110,14 +117,14 @@ public class UserVenueControllerTests {
                                 new Venue(1, "venue_name", "description", 1, "picture", "address", "09:00", "20:00")),
                                 venue_pageable,
                                 1);
-                when(venueService.findAll(venue_pageable))
-                                .thenReturn(page);
+                when(venueService.findSummaries(venue_pageable))
+                                .thenReturn(page.map(VenueSummary::of));
                 mockMvc.perform(get("/venuelist/getVenueList"))
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType("application/json"))
                                 .andExpect(jsonPath("$.content[0].venueID").value(1))
                                 .andExpect(jsonPath("$.content[0].venueName").value("venue_name"))
-                                .andExpect(jsonPath("$.content[0].description").value("description"))
+                                .andExpect(jsonPath("$.content[0].description").doesNotExist())
                                 .andExpect(jsonPath("$.content[0].price").value(1))
                                 .andExpect(jsonPath("$.content[0].picture").value("picture"))
                                 .andExpect(jsonPath("$.content[0].address").value("address"))
@@ -134,7 +141,7 @@ public class UserVenueControllerTests {
         @Test
         public void testVenueListWhenDataNotFound() throws Exception {
                 Pageable pageable = getPageable(1, 5);
-                when(venueService.findAll(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
+                when(venueService.findSummaries(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
                 mockMvc.perform(get("/venuelist/getVenueList?page=2"))
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType("application/json"))
@@ -173,4 +180,31 @@ public class UserVenueControllerTests {
                                 .andExpect(model().attribute("venue_list", Collections.emptyList()))
                                 .andExpect(model().attribute("total", 0));
         }
+
+        @Test
+        public void testFreeVenuesShouldReturnSummaries() throws Exception {
+                LocalDate day = LocalDate.now().plusDays(1);
+                when(venueSearchService.findFreeVenues(day, 14, 16))
+                                .thenReturn(Collections.singletonList(createVenue(1)));
+                mockMvc.perform(get("/venue/getFreeVenues?date=" + day + "&startHour=14&endHour=16"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].venueID").value(1))
+                                .andExpect(jsonPath("$[0].description").doesNotExist());
+        }
+
+        @Test
+        public void testFreeVenuesWhenDateMalformed() throws Exception {
+                mockMvc.perform(get("/venue/getFreeVenues?date=2025-13-40&startHour=14&endHour=16"))
+                                .andExpect(status().isBadRequest());
+                verifyNoInteractions(venueSearchService);
+        }
+
+        @Test
+        public void testFreeVenuesWhenRangeInvalid() throws Exception {
+                LocalDate day = LocalDate.now().plusDays(1);
+                when(venueSearchService.findFreeVenues(day, 16, 14))
+                                .thenThrow(new IllegalArgumentException("时段不合法"));
+                mockMvc.perform(get("/venue/getFreeVenues?date=" + day + "&startHour=16&endHour=14"))
+                                .andExpect(status().isBadRequest());
+        }
 }
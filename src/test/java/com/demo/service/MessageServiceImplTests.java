@@ -37,6 +37,9 @@ public class MessageServiceImplTests {
     @Mock
     private MessageDao messageDao;
 
+    @Mock
+    private CountService countService;
+
     // testing Message
     Message defaultMessage;
     Pageable pageable;
@@ -12,7 +12,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -58,82 +60,110 @@ class VenueServiceTests {
 
     @Test
     void testFindByVenueID() {
-        when(venueDao.getOne(1)).thenReturn(testVenue);
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
         Venue res = venueService.findByVenueID(1);
         assertNotNull(res);
         assertVenueEqual(testVenue, res);
-        verify(venueDao).getOne(1);
+        venueService.findByVenueID(1);
+        verify(venueDao, times(1)).findAll();
+        verify(venueDao, never()).getOne(anyInt());
+    }
+
+    @Test
+    void testFindByVenueIDReturnsCopy() {
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
+        Venue res = venueService.findByVenueID(1);
+        res.setVenueName("changed");
+        assertEquals("venue", venueService.findByVenueID(1).getVenueName());
     }
 
     @Test
     void testFindByVenueName() {
-        when(venueDao.findByVenueName(testVenue.getVenueName())).thenReturn(testVenue);
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
         Venue res = venueService.findByVenueName("venue");
         assertVenueEqual(testVenue, res);
-        verify(venueDao).findByVenueName(testVenue.getVenueName());
+        verify(venueDao, never()).findByVenueName(anyString());
     }
 
     @Test
     void testFindByInvalidVenueID() {
-        when(venueDao.getOne(999)).thenThrow(new EntityNotFoundException("Venue not found"));
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
         assertThrows(EntityNotFoundException.class, () -> venueService.findByVenueID(999));
     }
 
     @Test
     void testFindByNonExistingVenueName() {
-        when(venueDao.findByVenueName("non_existing")).thenReturn(null);
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
         Venue res = venueService.findByVenueName("non_existing");
         assertNull(res);
-        verify(venueDao).findByVenueName("non_existing");
     }
 
     @Test
     void testCreate() {
-        when(venueDao.save(testVenue)).thenReturn(testVenue);
-        assertEquals(1, venueService.create(testVenue));
+        Venue created = new Venue(2, "new", "", 100, "", "", "08:00", "22:00");
+        when(venueDao.save(created)).thenReturn(created);
+        when(venueDao.findAll()).thenReturn(Arrays.asList(testVenue, created));
+        assertEquals(2, venueService.create(created));
         verify(venueDao).save(any());
+        assertEquals("new", venueService.findByVenueID(2).getVenueName());
+        verify(venueDao, times(1)).findAll();
     }
 
     @Test
     void testUpdate() {
-        when(venueDao.save(any())).thenReturn(testVenue);
-        venueService.update(testVenue);
+        Venue updated = new Venue(1, "renamed", "", 300, "", "", "08:00", "22:00");
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue))
+                .thenReturn(Collections.singletonList(updated));
+        assertEquals("venue", venueService.findByVenueID(1).getVenueName());
+        when(venueDao.save(any())).thenReturn(updated);
+        venueService.update(updated);
         verify(venueDao).save(any());
+        assertEquals("renamed", venueService.findByVenueID(1).getVenueName());
+        assertNull(venueService.findByVenueName("venue"));
     }
 
     @Test
     void testDelById() {
+        when(venueDao.findAll()).thenReturn(Collections.emptyList());
         venueService.delById(1);
         verify(venueDao).deleteById(1);
         venueService.delById(2);
         verify(venueDao).deleteById(2);
         verify(venueDao, times(2)).deleteById(anyInt());
+        assertThrows(EntityNotFoundException.class, () -> venueService.findByVenueID(1));
     }
 
     @Test
     void testCountVenueName() {
-        String venueName = "venue";
-        when(venueDao.countByVenueName(venueName)).thenReturn(1).thenReturn(2);
-        assertEquals(1, venueService.countVenueName(venueName));
-        assertEquals(2, venueService.countVenueName(venueName));
-        verify(venueDao, times(2)).countByVenueName(venueName);
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
+        assertEquals(1, venueService.countVenueName("venue"));
+        assertEquals(0, venueService.countVenueName("other"));
+        verify(venueDao, never()).countByVenueName(anyString());
     }
 
     @Test
     void testFindAllReturnPage() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Venue> page = new PageImpl<>(Collections.singletonList(testVenue), pageable, 1);
-        when(venueDao.findAll(pageable)).thenReturn(page);
+        Venue second = new Venue(2, "venue2", "", 100, "", "", "08:00", "22:00");
+        when(venueDao.findAll()).thenReturn(Arrays.asList(second, testVenue));
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("venueID").ascending());
         Page<Venue> res = venueService.findAll(pageable);
-        assertEquals(1, res.getTotalElements());
+        assertEquals(2, res.getTotalElements());
         assertEquals(1, res.getContent().size());
-        verify(venueDao).findAll(pageable);
+        assertEquals(1, res.getContent().get(0).getVenueID());
 
-        when(venueDao.findAll(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
-        Page<Venue> emptyRes = venueService.findAll(pageable);
-        assertEquals(0, emptyRes.getTotalElements());
+        Page<Venue> emptyRes = venueService.findAll(PageRequest.of(5, 1));
+        assertEquals(2, emptyRes.getTotalElements());
         assertEquals(0, emptyRes.getContent().size());
-        verify(venueDao, times(2)).findAll(pageable);
+        verify(venueDao, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testFindAllReturnPageWithOtherSort() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price").descending());
+        when(venueDao.findAll(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(testVenue), pageable, 1));
+        Page<Venue> res = venueService.findAll(pageable);
+        assertEquals(1, res.getTotalElements());
+        verify(venueDao).findAll(pageable);
     }
 
     @Test
@@ -141,6 +171,7 @@ class VenueServiceTests {
         when(venueDao.findAll()).thenReturn(Collections.singletonList(testVenue));
         List<Venue> res = venueService.findAll();
         assertEquals(1, res.size());
-        verify(venueDao).findAll();
+        venueService.findAll();
+        verify(venueDao, times(1)).findAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.CacheRegionStat;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatServiceImplTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @InjectMocks
+    private CacheStatServiceImpl cacheStatService;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    @Test
+    void regions_ShouldReportSortedRegionsWithHitRatio() {
+        CacheRegionStatistics venue = region(3, 1, 1);
+        CacheRegionStatistics news = region(0, 0, 0);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"venue", "news"});
+        when(statistics.getCacheRegionStatistics("venue")).thenReturn(venue);
+        when(statistics.getCacheRegionStatistics("news")).thenReturn(news);
+
+        List<CacheRegionStat> stats = cacheStatService.regions();
+
+        assertEquals(2, stats.size());
+        assertEquals(new CacheRegionStat("news", 0, 0, 0, 0), stats.get(0));
+        assertEquals(new CacheRegionStat("venue", 3, 1, 1, 0.75), stats.get(1));
+    }
+
+    @Test
+    void regions_ShouldSkipRegionsWithoutStatistics() {
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"default-update-timestamps-region"});
+
+        assertTrue(cacheStatService.regions().isEmpty());
+    }
+
+    @Test
+    void reset_ShouldClearStatistics() {
+        cacheStatService.reset();
+
+        verify(statistics).clear();
+    }
+
+    private static CacheRegionStatistics region(long hits, long misses, long puts) {
+        CacheRegionStatistics region = mock(CacheRegionStatistics.class);
+        when(region.getHitCount()).thenReturn(hits);
+        when(region.getMissCount()).thenReturn(misses);
+        when(region.getPutCount()).thenReturn(puts);
+        return region;
+    }
+}
@@ -0,0 +1,145 @@
+package com.demo.service.impl;
+
+import com.demo.dao.MessageDao;
+import com.demo.dao.NewsDao;
+import com.demo.dao.OrderArchiveDao;
+import com.demo.dao.OrderDao;
+import com.demo.service.CountService;
+import com.demo.service.MessageService;
+import com.demo.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CountServiceImplTest {
+
+    @Mock
+    private NewsDao newsDao;
+
+    @Mock
+    private MessageDao messageDao;
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OrderArchiveDao orderArchiveDao;
+
+    @InjectMocks
+    private CountServiceImpl countService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(countService, "maxSize", 100);
+    }
+
+    @Test
+    void countNews_ShouldQueryOnce_ThenFollowWrites() {
+        when(newsDao.count()).thenReturn(10L);
+
+        assertEquals(10, countService.countNews());
+        countService.newsAdded(1);
+        countService.newsAdded(1);
+        countService.newsAdded(-1);
+
+        assertEquals(11, countService.countNews());
+        verify(newsDao, times(1)).count();
+    }
+
+    @Test
+    void writesBeforeFirstRead_ShouldBeIgnored() {
+        countService.newsAdded(1);
+        when(newsDao.count()).thenReturn(3L);
+
+        assertEquals(3, countService.countNews());
+    }
+
+    @Test
+    void messagesMoved_ShouldShiftBetweenStates() {
+        when(messageDao.countByState(MessageService.STATE_NO_AUDIT)).thenReturn(5L);
+        when(messageDao.countByState(MessageService.STATE_PASS)).thenReturn(20L);
+        countService.countMessages(MessageService.STATE_NO_AUDIT);
+        countService.countMessages(MessageService.STATE_PASS);
+
+        countService.messagesMoved(MessageService.STATE_NO_AUDIT, MessageService.STATE_PASS, 2);
+
+        assertEquals(3, countService.countMessages(MessageService.STATE_NO_AUDIT));
+        assertEquals(22, countService.countMessages(MessageService.STATE_PASS));
+    }
+
+    @Test
+    void messageAddedAndRemoved_ShouldUpdateStateAndUserCounts() {
+        when(messageDao.countByState(MessageService.STATE_NO_AUDIT)).thenReturn(0L);
+        when(messageDao.countByUserID("u1")).thenReturn(4L);
+        countService.countMessages(MessageService.STATE_NO_AUDIT);
+        countService.countUserMessages("u1");
+
+        countService.messageAdded("u1", MessageService.STATE_NO_AUDIT);
+        countService.messageAdded("u1", MessageService.STATE_NO_AUDIT);
+        countService.messageRemoved("u1", MessageService.STATE_NO_AUDIT);
+
+        assertEquals(1, countService.countMessages(MessageService.STATE_NO_AUDIT));
+        assertEquals(5, countService.countUserMessages("u1"));
+    }
+
+    @Test
+    void countUserOrders_ShouldIncludeArchivedOrders() {
+        when(orderDao.countByUserID("u1")).thenReturn(3L);
+        when(orderArchiveDao.countByUserID("u1")).thenReturn(4L);
+
+        assertEquals(7, countService.countUserOrders("u1"));
+        assertEquals(7, countService.countUserOrders("u1"));
+        verify(orderArchiveDao, times(1)).countByUserID("u1");
+    }
+
+    @Test
+    void invalidateOrders_ShouldRecountOnNextRead() {
+        when(orderDao.countByUserID("u1")).thenReturn(7L, 2L);
+        when(orderDao.countByState(OrderService.STATE_FINISH)).thenReturn(9L, 1L);
+        countService.countUserOrders("u1");
+        countService.countOrders(OrderService.STATE_FINISH);
+
+        countService.invalidateOrders();
+
+        assertEquals(2, countService.countUserOrders("u1"));
+        assertEquals(1, countService.countOrders(OrderService.STATE_FINISH));
+    }
+
+    @Test
+    void overMaxSize_ShouldQueryWithoutCaching() {
+        ReflectionTestUtils.setField(countService, "maxSize", 1);
+        when(newsDao.count()).thenReturn(1L);
+        when(orderDao.countByUserID("u1")).thenReturn(3L);
+        countService.countNews();
+
+        countService.countUserOrders("u1");
+        countService.countUserOrders("u1");
+
+        verify(orderDao, times(2)).countByUserID("u1");
+    }
+
+    @Test
+    void refresh_ShouldDropAllCounters() {
+        when(newsDao.count()).thenReturn(1L, 2L);
+        countService.countNews();
+
+        countService.refresh();
+
+        assertEquals(2, countService.countNews());
+    }
+
+    @Test
+    void totalPages_ShouldMatchPageTotalPages() {
+        assertEquals(0, CountService.totalPages(0, 10));
+        assertEquals(1, CountService.totalPages(10, 10));
+        assertEquals(2, CountService.totalPages(11, 10));
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.service.impl;
+
+import com.demo.dao.StoredFileDao;
+import com.demo.utils.FileUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileStoreServiceImplTest {
+
+    // sha-256("hello")
+    private static final String HELLO = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock
+    private StoredFileDao storedFileDao;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private FileStoreServiceImpl fileStoreService;
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileStoreService, "root", root.toFile());
+        ReflectionTestUtils.setField(fileStoreService, "orphanGraceHours", 24);
+        ReflectionTestUtils.setField(fileStoreService, "recountDays", 7);
+        ReflectionTestUtils.setField(fileStoreService, "batchSize", 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void store_ShouldNameByContent_AndKeepOneCopy() throws Exception {
+        String first = fileStoreService.store(new MockMultipartFile("picture", "a.PNG", "image/png", "hello".getBytes()), FileUtil.VENUE_DIR);
+        String second = fileStoreService.store(new MockMultipartFile("picture", "b.png", "image/png", "hello".getBytes()), FileUtil.VENUE_DIR);
+
+        assertEquals("file/venue/" + HELLO + ".png", first);
+        assertEquals(first, second);
+        File[] files = root.resolve(FileUtil.VENUE_DIR).toFile().listFiles();
+        assertEquals(1, files.length);
+        assertEquals("hello", new String(Files.readAllBytes(files[0].toPath())));
+        verify(storedFileDao, times(2)).retain(eq(first), eq(HELLO), eq(5L), any());
+    }
+
+    @Test
+    void store_ShouldSkipEmptyFile() throws Exception {
+        assertEquals("", fileStoreService.store(new MockMultipartFile("picture", "", null, new byte[0]), FileUtil.USER_DIR));
+        verifyNoInteractions(storedFileDao);
+    }
+
+    @Test
+    void release_ShouldIgnoreEmptyUrl() {
+        fileStoreService.release("");
+        fileStoreService.release(null);
+        verifyNoInteractions(storedFileDao);
+    }
+
+    @Test
+    void collectOrphans_ShouldDeleteFileAndVariants_WhenStillUnreferenced() throws Exception {
+        runTransactionsInline();
+        File dir = root.resolve(FileUtil.VENUE_DIR).toFile();
+        assertTrue(dir.mkdirs());
+        File original = new File(dir, "abc.png");
+        File thumb = new File(dir, "abc_thumb.jpg");
+        Files.write(original.toPath(), new byte[1]);
+        Files.write(thumb.toPath(), new byte[1]);
+        when(storedFileDao.findOrphans(any(), any()))
+                .thenReturn(Arrays.asList("file/venue/abc.png", "file/venue/used.png"), Collections.emptyList());
+        when(storedFileDao.lockOrphan(eq("file/venue/abc.png"), any())).thenReturn("file/venue/abc.png");
+        when(storedFileDao.lockOrphan(eq("file/venue/used.png"), any())).thenReturn(null);
+
+        int collected = fileStoreService.collectOrphans();
+
+        assertEquals(1, collected);
+        assertFalse(original.exists());
+        assertFalse(thumb.exists());
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(storedFileDao).recount(before.capture(), since.capture());
+        assertEquals(before.getValue().minusDays(7), since.getValue());
+        verify(storedFileDao).deleteById("file/venue/abc.png");
+        verify(storedFileDao, never()).deleteById("file/venue/used.png");
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.service.impl;
+
+import com.demo.entity.Message;
+import com.demo.entity.News;
+import com.demo.entity.Venue;
+import com.demo.entity.vo.HomePage;
+import com.demo.entity.vo.MessageVo;
+import com.demo.service.MessageService;
+import com.demo.service.MessageVoService;
+import com.demo.service.NewsService;
+import com.demo.service.VenueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class HomePageServiceImplTest {
+
+    @InjectMocks
+    private HomePageServiceImpl homePageService;
+
+    @Mock
+    private VenueService venueService;
+
+    @Mock
+    private NewsService newsService;
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private MessageVoService messageVoService;
+
+    private final List<Venue> venues = Collections.singletonList(new Venue(1, "venue", "description", 100, "", "address", "08:00", "20:00"));
+
+    private final List<News> news = Collections.singletonList(new News(1, "title", "content", LocalDateTime.now()));
+
+    private final List<MessageVo> messageVos = Collections.singletonList(new MessageVo(1, "userID", "content", LocalDateTime.now(), "userName", "", 2));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(homePageService, "threads", 3);
+        ReflectionTestUtils.setField(homePageService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(homePageService, "venueTtl", 60000L);
+        ReflectionTestUtils.setField(homePageService, "newsTtl", 60000L);
+        ReflectionTestUtils.setField(homePageService, "messageTtl", 60000L);
+        homePageService.start();
+
+        when(venueService.findAll(any())).thenReturn(new PageImpl<>(venues));
+        when(newsService.findAll(any())).thenReturn(new PageImpl<>(news));
+        when(messageService.findPassState(any()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(new Message(1, "userID", "content", LocalDateTime.now(), 2))));
+        when(messageVoService.returnVo(anyList())).thenReturn(messageVos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        homePageService.stop();
+    }
+
+    @Test
+    void load_ShouldAssembleSections_AndServeRepeatsFromCache() {
+        HomePage first = homePageService.load();
+        HomePage second = homePageService.load();
+
+        assertEquals(venues, first.getVenueList());
+        assertEquals(news, first.getNewsList());
+        assertEquals(messageVos, first.getMessageList());
+        assertSame(first.getNewsList(), second.getNewsList());
+        verify(venueService, times(1)).findAll(any());
+        verify(newsService, times(1)).findAll(any());
+        verify(messageService, times(1)).findPassState(any());
+        assertThrows(UnsupportedOperationException.class, () -> first.getNewsList().clear());
+    }
+
+    @Test
+    void evict_ShouldReloadOnlyThatSection() {
+        homePageService.load();
+
+        homePageService.evictMessages();
+        homePageService.load();
+
+        verify(messageService, times(2)).findPassState(any());
+        verify(messageVoService, times(2)).returnVo(anyList());
+        verify(newsService, times(1)).findAll(any());
+        verify(venueService, times(1)).findAll(any());
+    }
+
+    @Test
+    void expiredSection_ShouldBeReloaded() {
+        ReflectionTestUtils.setField(homePageService, "newsTtl", 0L);
+
+        homePageService.load();
+        homePageService.load();
+
+        verify(newsService, times(2)).findAll(any());
+        verify(venueService, times(1)).findAll(any());
+    }
+
+    @Test
+    void failedLoad_ShouldNotBeCached() {
+        when(newsService.findAll(any())).thenThrow(new RuntimeException("db down")).thenReturn(new PageImpl<>(news));
+
+        assertThrows(CompletionException.class, () -> homePageService.load());
+        assertEquals(news, homePageService.load().getNewsList());
+        verify(newsService, times(2)).findAll(any());
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.service.impl;
+
+import com.demo.utils.PictureSize;
+import com.demo.utils.Pictures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageServiceImplTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void resize_ShouldKeepAspectRatio_AndNeverUpscale() {
+        BufferedImage large = new BufferedImage(4000, 2000, BufferedImage.TYPE_INT_RGB);
+        BufferedImage thumb = ImageServiceImpl.resize(large, 160);
+        assertEquals(160, thumb.getWidth());
+        assertEquals(80, thumb.getHeight());
+
+        BufferedImage small = new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage same = ImageServiceImpl.resize(small, 480);
+        assertEquals(100, same.getWidth());
+        assertEquals(50, same.getHeight());
+    }
+
+    @Test
+    void createVariants_ShouldWriteEverySize_AndTemplatesPickThemUp() throws Exception {
+        File dir = root.resolve("file/venue").toFile();
+        assertTrue(dir.mkdirs());
+        File original = new File(dir, "abc.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", original);
+        Pictures pictures = new Pictures(root.toFile());
+        assertEquals("file/venue/abc.png", pictures.thumb("file/venue/abc.png"));
+
+        ImageServiceImpl.createVariants(original);
+
+        BufferedImage card = ImageIO.read(new File(dir, "abc_card.jpg"));
+        assertEquals(PictureSize.CARD.getMaxEdge(), card.getWidth());
+        assertTrue(new File(dir, "abc_thumb.jpg").isFile());
+        assertTrue(new File(dir, "abc_full.jpg").isFile());
+        assertEquals("file/venue/abc_thumb.jpg", pictures.thumb("file/venue/abc.png"));
+        assertEquals("", pictures.card(""));
+    }
+
+    @Test
+    void createVariants_ShouldSkipFilesThatAreNotImages() throws Exception {
+        File original = root.resolve("notes.txt").toFile();
+        Files.write(original.toPath(), "not an image".getBytes());
+
+        ImageServiceImpl.createVariants(original);
+
+        assertFalse(root.resolve("notes_thumb.jpg").toFile().exists());
+    }
+}
@@ -20,9 +20,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.demo.dao.MessageDao;
 import com.demo.entity.Message;
+import com.demo.service.CountService;
 
 public class MessageServiceImplTests {
 
@@ -32,6 +35,12 @@ public class MessageServiceImplTests {
     @Mock
     private MessageDao messageDao;
 
+    @Mock
+    private CountService countService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     // testing Message
     Message defaultMessage;
     Pageable pageable;
@@ -270,4 +279,35 @@ public class MessageServiceImplTests {
         assertEquals(2, result.getTotalElements());
         assertEquals(2, result.getContent().get(0).getState());
     }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    public void testConfirmMessages_OnlyPendingOnesChange() {
+        runTransactionsInline();
+        List<Integer> ids = Arrays.asList(1, 2, 3);
+        when(messageDao.lockIDsInState(ids, 1)).thenReturn(Arrays.asList(1, 3));
+
+        List<Integer> result = messageService.confirmMessages(ids);
+
+        assertEquals(Arrays.asList(1, 3), result);
+        verify(messageDao, times(1)).updateStateIn(Arrays.asList(1, 3), 1, 2);
+        verify(messageDao, never()).updateState(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testRejectMessages_NothingPending() {
+        runTransactionsInline();
+        List<Integer> ids = Collections.singletonList(7);
+        when(messageDao.lockIDsInState(ids, 1)).thenReturn(Collections.emptyList());
+
+        List<Integer> result = messageService.rejectMessages(ids);
+
+        assertTrue(result.isEmpty());
+        verify(messageDao, never()).updateStateIn(any(), anyInt(), anyInt());
+    }
 }
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.demo.dao.MessageDao;
@@ -118,21 +119,27 @@ public class MessageVoServiceImplTests {
         List<Message> messages = new ArrayList<>();
         Message message1 = new Message();
         message1.setMessageID(1);
+        message1.setUserID("user123");
         Message message2 = new Message();
         message2.setMessageID(2);
+        message2.setUserID("user123");
         messages.add(message1);
         messages.add(message2);
 
-        MessageVoServiceImpl spyService = spy(messageVoService);
-        doReturn(new MessageVo()).when(spyService).returnMessageVoByMessageID(anyInt());
+        User user = new User();
+        user.setUserID("user123");
+        when(userDao.findByUserIDIn(anyCollection())).thenReturn(Arrays.asList(user));
 
         // Act
-        List<MessageVo> result = spyService.returnVo(messages);
+        List<MessageVo> result = messageVoService.returnVo(messages);
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(spyService, times(2)).returnMessageVoByMessageID(anyInt());
+        // 同一用户只查一次，且不再按id重新加载留言
+        verify(userDao, times(1)).findByUserIDIn(anyCollection());
+        verify(userDao, never()).findByUserID(anyString());
+        verify(messageDao, never()).findByMessageID(anyInt());
     }
 
     @Test
@@ -167,10 +174,7 @@ public class MessageVoServiceImplTests {
         user2.setUserName("Jane Doe");
         user2.setPicture("profile2.jpg");
 
-        when(messageDao.findByMessageID(1)).thenReturn(message1);
-        when(messageDao.findByMessageID(2)).thenReturn(message2);
-        when(userDao.findByUserID("user123")).thenReturn(user1);
-        when(userDao.findByUserID("user456")).thenReturn(user2);
+        when(userDao.findByUserIDIn(anyCollection())).thenReturn(Arrays.asList(user1, user2));
 
         // Act: Call the method under test
         List<MessageVo> result = messageVoService.returnVo(messages);
@@ -206,8 +210,7 @@ public class MessageVoServiceImplTests {
         message.setUserID("nonExistentUser");
         messages.add(message);
 
-        when(messageDao.findByMessageID(1)).thenReturn(message);
-        when(userDao.findByUserID("nonExistentUser")).thenReturn(null);
+        when(userDao.findByUserIDIn(anyCollection())).thenReturn(new ArrayList<>());
 
         assertThrows(RuntimeException.class, () -> {
             messageVoService.returnVo(messages);
@@ -1,7 +1,10 @@
 package com.demo.service.impl;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.NewsSummary;
 import com.demo.dao.NewsDao;
+import com.demo.service.CountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +20,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class) // JUnit 5 用法
@@ -25,6 +30,9 @@ public class NewsServiceImplTest {
     @Mock
     private NewsDao newsDao;
 
+    @Mock
+    private CountService countService;
+
     @InjectMocks
     private NewsServiceImpl newsService;
 
@@ -192,4 +200,36 @@ public class NewsServiceImplTest {
         });
     }
 
+    @Test
+    public void testFindFeed_ShouldPageThroughNewsWithoutTime() {
+        News older = new News();
+        older.setNewsID(0);
+        when(newsDao.findAllByOrderByTimeDescNewsIDDesc(PageRequest.of(0, 2))).thenReturn(Arrays.asList(news, older));
+
+        CursorPage<News> first = newsService.findFeed(null, 1);
+
+        assertNotNull(first.getNextCursor());
+        when(newsDao.findAfterNullTime(1, PageRequest.of(0, 2))).thenReturn(Collections.singletonList(older));
+        CursorPage<News> second = newsService.findFeed(first.getNextCursor(), 1);
+
+        assertEquals(Collections.singletonList(older), second.getContent());
+        verify(newsDao, never()).findAfter(any(), anyInt(), any());
+    }
+
+    @Test
+    public void testFindSummaries_ShouldTakeTotalFromCounter() {
+        Pageable pageable = PageRequest.of(1, 5, Sort.by("time").descending());
+        List<NewsSummary> summaries = Arrays.asList(new NewsSummary(2, "title", "preview", null),
+                new NewsSummary(1, "title", "preview", null));
+        when(newsDao.findSummaries(pageable)).thenReturn(summaries);
+        when(countService.countNews()).thenReturn(7L);
+
+        Page<NewsSummary> result = newsService.findSummaries(pageable);
+
+        assertEquals(summaries, result.getContent());
+        assertEquals(7, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        verify(newsDao, never()).findAll(any(Pageable.class));
+    }
+
 }
@@ -0,0 +1,138 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @InjectMocks
+    private OccupancyServiceImpl occupancyService;
+
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    private Order order(int orderID, int venueID, int hour, int hours, int state) {
+        return new Order(orderID, "user", venueID, state, LocalDateTime.now(),
+                tomorrow.atTime(hour, 0), hours, hours * 100);
+    }
+
+    @Test
+    void covers_ShouldBeFalse_BeforeRebuild() {
+        assertFalse(occupancyService.covers(tomorrow));
+    }
+
+    @Test
+    void rebuild_ShouldSetHourBits() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(Arrays.asList(order(1, 1, 9, 2, OrderService.STATE_NO_AUDIT),
+                        order(2, 1, 14, 1, OrderService.STATE_WAIT)));
+
+        occupancyService.rebuild();
+
+        assertTrue(occupancyService.covers(tomorrow));
+        assertEquals((1 << 9) | (1 << 10) | (1 << 14), occupancyService.occupiedHours(1, tomorrow));
+        assertEquals(0, occupancyService.occupiedHours(2, tomorrow));
+        assertEquals(2, occupancyService.findDayOrders(1, tomorrow).size());
+    }
+
+    @Test
+    void put_ShouldMoveOrderToNewSlot() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(Arrays.asList(order(1, 1, 9, 2, OrderService.STATE_NO_AUDIT)));
+        occupancyService.rebuild();
+
+        occupancyService.put(order(1, 1, 18, 1, OrderService.STATE_NO_AUDIT));
+
+        assertEquals(1 << 18, occupancyService.occupiedHours(1, tomorrow));
+        List<Order> orders = occupancyService.findDayOrders(1, tomorrow);
+        assertEquals(1, orders.size());
+        assertEquals(18, orders.get(0).getStartTime().getHour());
+    }
+
+    @Test
+    void changeState_ShouldReleaseSlot_WhenOrderRejected() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(Arrays.asList(order(1, 1, 9, 2, OrderService.STATE_NO_AUDIT),
+                        order(2, 1, 10, 1, OrderService.STATE_NO_AUDIT)));
+        occupancyService.rebuild();
+
+        occupancyService.changeState(1, OrderService.STATE_REJECT);
+
+        // 与被拒订单重叠的另一订单仍然占用 10 点
+        assertEquals(1 << 10, occupancyService.occupiedHours(1, tomorrow));
+    }
+
+    @Test
+    void changeState_ShouldKeepSlot_WhenOrderConfirmed() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(Arrays.asList(order(1, 1, 9, 1, OrderService.STATE_NO_AUDIT)));
+        occupancyService.rebuild();
+
+        occupancyService.changeState(1, OrderService.STATE_WAIT);
+
+        assertEquals(1 << 9, occupancyService.occupiedHours(1, tomorrow));
+        assertEquals(OrderService.STATE_WAIT, occupancyService.findDayOrders(1, tomorrow).get(0).getState());
+    }
+
+    @Test
+    void remove_ShouldClearSlot() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(Arrays.asList(order(1, 1, 9, 2, OrderService.STATE_NO_AUDIT)));
+        occupancyService.rebuild();
+
+        occupancyService.remove(1);
+
+        assertEquals(0, occupancyService.occupiedHours(1, tomorrow));
+        assertTrue(occupancyService.findDayOrders(1, tomorrow).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldRebuild_WhenCountDiffers() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any()))
+                .thenReturn(Arrays.asList(order(1, 1, 9, 2, OrderService.STATE_NO_AUDIT)));
+        occupancyService.rebuild();
+        when(orderDao.countByStateInAndStartTimeGreaterThanEqual(anyCollection(), any())).thenReturn(2L);
+
+        occupancyService.verify();
+
+        verify(orderDao, times(2)).findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any());
+    }
+
+    @Test
+    void rebuild_ShouldFallBackToDatabase_WhenWritesKeepRacing() {
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any())).thenAnswer(invocation -> {
+            occupancyService.remove(99);
+            return Arrays.asList(order(1, 1, 9, 2, OrderService.STATE_NO_AUDIT));
+        });
+
+        occupancyService.rebuild();
+
+        assertFalse(occupancyService.covers(tomorrow));
+        verify(orderDao, times(3)).findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderArchiveDao;
+import com.demo.dao.OrderDao;
+import com.demo.service.CountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private CountService countService;
+
+    @Mock
+    private OrderArchiveDao orderArchiveDao;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OrderArchiveServiceImpl orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderArchiveService, "retentionDays", 365);
+        ReflectionTestUtils.setField(orderArchiveService, "batchSize", 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void archive_ShouldMoveInBatches_UntilShortBatch() {
+        runTransactionsInline();
+        when(orderDao.lockArchivable(eq(OrderArchiveServiceImpl.ARCHIVE_STATES), any(), eq(2)))
+                .thenReturn(Arrays.asList(1, 2), Collections.singletonList(3));
+
+        int archived = orderArchiveService.archive();
+
+        assertEquals(3, archived);
+        verify(orderArchiveDao).copyFromOrder(Arrays.asList(1, 2));
+        verify(orderDao).deleteByIDs(Arrays.asList(1, 2));
+        verify(orderArchiveDao).copyFromOrder(Collections.singletonList(3));
+        verify(orderDao).deleteByIDs(Collections.singletonList(3));
+    }
+
+    @Test
+    void archive_ShouldStop_WhenNothingToMove() {
+        runTransactionsInline();
+        when(orderDao.lockArchivable(anyCollection(), any(), anyInt())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, orderArchiveService.archive());
+        verifyNoInteractions(orderArchiveDao);
+    }
+
+    @Test
+    void reaches_ShouldOnlyBeTrue_BeforeRetentionWindow() {
+        assertTrue(orderArchiveService.reaches(LocalDateTime.now().minusDays(400)));
+        assertFalse(orderArchiveService.reaches(LocalDateTime.now().minusDays(300)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.vo.SweepStats;
+import com.demo.service.CountService;
+import com.demo.service.OccupancyService;
+import com.demo.service.VenueStatService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExpiryServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private CountService countService;
+
+    @Mock
+    private OccupancyService occupancyService;
+
+    @Mock
+    private VenueStatService venueStatService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OrderExpiryServiceImpl orderExpiryService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(orderExpiryService, "batchSize", 2);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void sweep_ShouldExpireInBoundedBatches_AndRecordStats() {
+        when(orderDao.lockStartedInState(eq(1), any(), eq(2)))
+                .thenReturn(Arrays.asList(1, 2), Collections.singletonList(3));
+
+        int swept = orderExpiryService.sweep();
+
+        assertEquals(3, swept);
+        verify(orderDao).updateStateIn(Arrays.asList(1, 2), 1, 4);
+        verify(orderDao).updateStateIn(Collections.singletonList(3), 1, 4);
+        verify(occupancyService).changeState(3, 4);
+        verify(venueStatService).recordTransition(Arrays.asList(1, 2), 1, 4);
+        SweepStats stats = orderExpiryService.stats();
+        assertEquals(1, stats.getRuns());
+        assertEquals(3, stats.getTotalSwept());
+        assertEquals(3, stats.getLastSwept());
+        assertNotNull(stats.getLastRunTime());
+    }
+
+    @Test
+    void sweep_ShouldNotUpdate_WhenNothingExpired() {
+        when(orderDao.lockStartedInState(anyInt(), any(), anyInt())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, orderExpiryService.sweep());
+        verify(orderDao, never()).updateStateIn(anyCollection(), anyInt(), anyInt());
+        assertEquals(1, orderExpiryService.stats().getRuns());
+    }
+}
@@ -0,0 +1,384 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.dao.VenueDao;
+import com.demo.entity.Order;
+import com.demo.entity.Venue;
+import com.demo.entity.vo.BookingResult;
+import com.demo.exception.OrderConflictException;
+import com.demo.service.CountService;
+import com.demo.service.OccupancyService;
+import com.demo.service.OrderArchiveService;
+import com.demo.service.Recurrence;
+import com.demo.service.VenueService;
+import com.demo.service.VenueStatService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private CountService countService;
+
+    @Mock
+    private VenueDao venueDao;
+
+    @Mock
+    private VenueService venueService;
+
+    @Mock
+    private OccupancyService occupancyService;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @Mock
+    private VenueStatService venueStatService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private Venue venue;
+    private LocalDateTime startTime;
+
+    @BeforeEach
+    void setUp() {
+        venue = new Venue(1, "venue", "description", 100, "", "address", "08:00", "22:00");
+        startTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void submit_ShouldSaveOrder_WhenSlotFree() {
+        runTransactionsInline();
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        when(occupancyService.covers(startTime.toLocalDate())).thenReturn(true);
+        when(occupancyService.occupiedHours(1, startTime.toLocalDate())).thenReturn(1 << 9);
+        when(orderDao.countOverlap(eq(1), eq(startTime), eq(startTime.plusHours(2)), eq(0))).thenReturn(0);
+        when(orderDao.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.submit("venue", startTime, 2, "user");
+
+        verify(venueDao).lockByVenueID(1);
+        verify(orderDao).save(any(Order.class));
+        verify(occupancyService).put(any(Order.class));
+        verify(venueStatService).record(isNull(), any(Order.class));
+    }
+
+    @Test
+    void submit_ShouldRejectWithoutDb_WhenIndexShowsOverlap() {
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        when(occupancyService.covers(startTime.toLocalDate())).thenReturn(true);
+        when(occupancyService.occupiedHours(1, startTime.toLocalDate())).thenReturn(1 << 11);
+
+        assertThrows(OrderConflictException.class, () -> orderService.submit("venue", startTime, 2, "user"));
+
+        verify(orderDao, never()).save(any());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void submit_ShouldRejectInsideLock_WhenSameSlotJustBooked() {
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        when(occupancyService.covers(startTime.toLocalDate())).thenReturn(true);
+        when(occupancyService.occupiedHours(1, startTime.toLocalDate())).thenReturn(0, 1 << 10);
+
+        assertThrows(OrderConflictException.class, () -> orderService.submit("venue", startTime, 2, "user"));
+
+        verifyNoInteractions(transactionTemplate);
+        verify(occupancyService, never()).rebuild();
+    }
+
+    @Test
+    void submit_ShouldRejectAndRebuildIndex_WhenDbShowsOverlap() {
+        runTransactionsInline();
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        when(occupancyService.covers(startTime.toLocalDate())).thenReturn(true);
+        when(occupancyService.occupiedHours(1, startTime.toLocalDate())).thenReturn(0);
+        when(orderDao.countOverlap(anyInt(), any(), any(), anyInt())).thenReturn(1);
+
+        assertThrows(OrderConflictException.class, () -> orderService.submit("venue", startTime, 2, "user"));
+
+        verify(orderDao, never()).save(any());
+        verify(occupancyService).rebuild();
+    }
+
+    @Test
+    void updateOrder_ShouldExcludeItselfFromOverlapCheck() {
+        runTransactionsInline();
+        Order order = new Order(7, "user", 1, 1, LocalDateTime.now(), startTime, 1, 100);
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        when(orderDao.findByOrderID(7)).thenReturn(order);
+        when(orderDao.countOverlap(1, startTime, startTime.plusHours(3), 7)).thenReturn(0);
+        when(orderDao.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.updateOrder(7, "venue", startTime, 3, "user");
+
+        verify(orderDao).save(argThat(saved -> saved.getOrderID() == 7 && saved.getTotal() == 300 && saved != order));
+        verify(occupancyService).put(argThat(saved -> saved.getTotal() == 300));
+        verify(venueStatService).record(argThat(before -> before.getHours() == 1), argThat(saved -> saved.getHours() == 3));
+    }
+
+    @Test
+    void updateOrder_ShouldLeaveLoadedOrderUntouched_OnConflict() {
+        runTransactionsInline();
+        Order order = new Order(7, "user", 1, 2, LocalDateTime.now(), startTime, 1, 100);
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        when(orderDao.findByOrderID(7)).thenReturn(order);
+        when(orderDao.countOverlap(1, startTime, startTime.plusHours(3), 7)).thenReturn(1);
+
+        assertThrows(OrderConflictException.class, () -> orderService.updateOrder(7, "venue", startTime, 3, "user"));
+
+        assertEquals(new Order(7, "user", 1, 2, order.getOrderTime(), startTime, 1, 100), order);
+        verify(orderDao, never()).save(any());
+    }
+
+    @Test
+    void updateOrder_ShouldRejectUnknownOrder() {
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> orderService.updateOrder(99, "venue", startTime, 1, "user"));
+
+        assertEquals("订单不存在", e.getMessage());
+        verifyNoInteractions(occupancyService);
+    }
+
+    @Test
+    void confirmOrders_ShouldUpdatePendingOrdersInOneStatement() {
+        runTransactionsInline();
+        List<Integer> ids = Arrays.asList(1, 2, 3);
+        when(orderDao.lockIDsInState(ids, 1)).thenReturn(Arrays.asList(1, 2));
+
+        List<Integer> result = orderService.confirmOrders(ids);
+
+        assertEquals(Arrays.asList(1, 2), result);
+        verify(orderDao).updateStateIn(Arrays.asList(1, 2), 1, 2);
+        verify(occupancyService).changeState(1, 2);
+        verify(occupancyService).changeState(2, 2);
+        verify(countService).ordersMoved(1, 2, 2);
+    }
+
+    @Test
+    void rejectOrders_ShouldReleaseSlots() {
+        runTransactionsInline();
+        List<Integer> ids = Arrays.asList(4);
+        when(orderDao.lockIDsInState(ids, 1)).thenReturn(Arrays.asList(4));
+
+        orderService.rejectOrders(ids);
+
+        verify(orderDao).updateStateIn(Arrays.asList(4), 1, 4);
+        verify(occupancyService).changeState(4, 4);
+    }
+
+    @Test
+    void confirmOrder_ShouldUseSingleConditionalUpdate() {
+        runTransactionsInline();
+        when(orderDao.compareAndSetState(1, 1, 2)).thenReturn(1);
+
+        orderService.confirmOrder(1);
+
+        verify(orderDao, never()).findByOrderID(anyInt());
+        verify(occupancyService).changeState(1, 2);
+        verify(venueStatService).recordTransition(Collections.singletonList(1), 1, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void confirmOrder_ShouldRecordStatsInSameTransaction() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        when(orderDao.compareAndSetState(1, 1, 2)).thenAnswer(invocation -> inTransaction.get() ? 1 : 0);
+        doAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return null;
+        }).when(venueStatService).recordTransition(Collections.singletonList(1), 1, 2);
+
+        orderService.confirmOrder(1);
+
+        verify(venueStatService).recordTransition(Collections.singletonList(1), 1, 2);
+        verify(occupancyService).changeState(1, 2);
+    }
+
+    @Test
+    void finishOrder_ShouldOnlyMoveFromAudited() {
+        runTransactionsInline();
+        when(orderDao.compareAndSetState(1, 2, 3)).thenReturn(1);
+
+        orderService.finishOrder(1);
+
+        verify(occupancyService).changeState(1, 3);
+    }
+
+    @Test
+    void rejectOrder_ShouldThrow_WhenOrderMissing() {
+        runTransactionsInline();
+        when(orderDao.compareAndSetState(9, 1, 4)).thenReturn(0);
+        when(orderDao.existsById(9)).thenReturn(false);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> orderService.rejectOrder(9));
+
+        assertEquals("订单不存在", thrown.getMessage());
+        verifyNoInteractions(occupancyService);
+    }
+
+    @Test
+    void confirmOrder_ShouldThrow_WhenStateAlreadyChanged() {
+        runTransactionsInline();
+        when(orderDao.compareAndSetState(1, 1, 2)).thenReturn(0);
+        when(orderDao.existsById(1)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> orderService.confirmOrder(1));
+        verifyNoInteractions(occupancyService);
+    }
+
+    @Test
+    void findDateOrder_ShouldSkipArchive_WhenRangeIsRecent() {
+        LocalDateTime from = startTime.minusHours(10);
+        when(orderArchiveService.reaches(from)).thenReturn(false);
+        when(orderDao.findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(1, from, startTime)).thenReturn(new ArrayList<>());
+
+        orderService.findDateOrder(1, from, startTime);
+
+        verify(orderArchiveService, never()).findDateOrder(anyInt(), any(), any());
+    }
+
+    @Test
+    void findDateOrder_ShouldMergeArchive_WhenRangeIsOld() {
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 9, 0);
+        LocalDateTime to = from.plusDays(60);
+        Order hot = new Order(2, "user", 1, 3, from, from.plusDays(30), 1, 100);
+        Order cold = new Order(1, "user", 1, 3, from, from.plusDays(1), 1, 100);
+        when(orderArchiveService.reaches(from)).thenReturn(true);
+        when(orderDao.findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(1, from, to)).thenReturn(new ArrayList<>(Collections.singletonList(hot)));
+        when(orderArchiveService.findDateOrder(1, from, to)).thenReturn(Collections.singletonList(cold));
+
+        List<Order> result = orderService.findDateOrder(1, from, to);
+
+        assertEquals(Arrays.asList(cold, hot), result);
+    }
+
+    @Test
+    void findDateOrder_ShouldReturnSameOrders_FromIndexAndDatabase() {
+        LocalDateTime day = startTime.toLocalDate().atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> rows = Arrays.asList(
+                new Order(1, "user", 1, 1, now, day.plusHours(8), 1, 100),
+                new Order(2, "user", 1, 2, now, day.plusHours(10), 1, 100),
+                new Order(3, "user", 1, 3, now, day.plusHours(12), 1, 100),
+                new Order(4, "user", 1, 4, now, day.plusHours(9), 1, 100));
+        OccupancyServiceImpl indexed = new OccupancyServiceImpl();
+        ReflectionTestUtils.setField(indexed, "orderDao", orderDao);
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqual(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Integer> states = invocation.getArgument(0);
+            return rows.stream().filter(order -> states.contains(order.getState())).collect(Collectors.toList());
+        });
+        indexed.rebuild();
+        ReflectionTestUtils.setField(orderService, "occupancyService", indexed);
+        List<Order> fromIndex = orderService.findDateOrder(1, day, day.plusDays(1));
+
+        ReflectionTestUtils.setField(orderService, "occupancyService", new OccupancyServiceImpl());
+        when(orderDao.findByVenueIDAndStartTimeGreaterThanEqualAndStartTimeLessThan(1, day, day.plusDays(1))).thenReturn(new ArrayList<>(rows));
+        List<Order> fromDatabase = orderService.findDateOrder(1, day, day.plusDays(1));
+
+        assertEquals(Arrays.asList(rows.get(0), rows.get(1), rows.get(2)), fromIndex);
+        assertEquals(fromIndex, fromDatabase);
+    }
+
+    @Test
+    void submitRecurring_ShouldSkipConflicts_AndBatchInsertTheRest() {
+        runTransactionsInline();
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+        Order taken = new Order(5, "other", 1, 2, LocalDateTime.now(), startTime.plusWeeks(1).plusHours(1), 1, 100);
+        when(orderDao.findOverlapping(1, startTime, startTime.plusWeeks(2).plusHours(2)))
+                .thenReturn(Collections.singletonList(taken));
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setOrderID(100 + i);
+            }
+            return null;
+        }).when(orderDao).batchInsert(anyList());
+
+        List<BookingResult> results = orderService.submitRecurring("venue", startTime, 2, Recurrence.WEEKLY, 3, "user");
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isBooked());
+        assertEquals(100, results.get(0).getOrderID());
+        assertFalse(results.get(1).isBooked());
+        assertEquals(startTime.plusWeeks(1), results.get(1).getStartTime());
+        assertTrue(results.get(2).isBooked());
+        assertEquals(101, results.get(2).getOrderID());
+        verify(orderDao, times(1)).findOverlapping(anyInt(), any(), any());
+        verify(orderDao, never()).save(any());
+        verify(occupancyService, times(2)).put(any(Order.class));
+    }
+
+    @Test
+    void submitRecurring_ShouldRejectTooManyOccurrences() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.submitRecurring("venue", startTime, 2, Recurrence.DAILY, OrderServiceImpl.MAX_OCCURRENCES + 1, "user"));
+        verifyNoInteractions(orderDao);
+    }
+
+    @Test
+    void submitRecurring_ShouldRejectNonPositiveHours() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.submitRecurring("venue", startTime, 0, Recurrence.DAILY, 3, "user"));
+        verifyNoInteractions(orderDao);
+    }
+
+    @Test
+    void submitRecurring_ShouldRejectStartInPast() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.submitRecurring("venue", startTime.minusDays(2), 2, Recurrence.DAILY, 3, "user"));
+        verifyNoInteractions(orderDao);
+    }
+
+    @Test
+    void submitRecurring_ShouldRejectBookingPastClosingTime() {
+        when(venueService.findByVenueName("venue")).thenReturn(venue);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.submitRecurring("venue", startTime.withHour(21), 2, Recurrence.DAILY, 3, "user"));
+        verifyNoInteractions(orderDao);
+    }
+}
@@ -0,0 +1,236 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderArchiveDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.entity.Venue;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.OrderVo;
+import com.demo.exception.InvalidCursorException;
+import com.demo.service.CountService;
+import com.demo.service.VenueService;
+import com.demo.utils.Cursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderVoServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OrderArchiveDao orderArchiveDao;
+
+    @Mock
+    private VenueService venueService;
+
+    @Mock
+    private CountService countService;
+
+    @InjectMocks
+    private OrderVoServiceImpl orderVoService;
+
+    private Order order(int orderID, int venueID) {
+        return new Order(orderID, "user", venueID, 1, LocalDateTime.now(), LocalDateTime.now().plusDays(1), 2, 200);
+    }
+
+    private Venue venue(int venueID, String name) {
+        return new Venue(venueID, name, "", 100, "", "", "08:00", "22:00");
+    }
+
+    @Test
+    void returnVo_ShouldLookUpEachVenueOnce_WithoutRefetchingOrders() {
+        List<Order> orders = Arrays.asList(order(1, 1), order(2, 2), order(3, 1));
+        when(venueService.findByVenueID(1)).thenReturn(venue(1, "A"));
+        when(venueService.findByVenueID(2)).thenReturn(venue(2, "B"));
+
+        List<OrderVo> result = orderVoService.returnVo(orders);
+
+        assertEquals(3, result.size());
+        assertEquals("A", result.get(0).getVenueName());
+        assertEquals("B", result.get(1).getVenueName());
+        assertEquals(3, result.get(2).getOrderID());
+        verify(venueService, times(1)).findByVenueID(1);
+        verifyNoInteractions(orderDao);
+    }
+
+    @Test
+    void returnVo_ShouldReturnEmpty_WithoutLookups() {
+        List<OrderVo> result = orderVoService.returnVo(Collections.emptyList());
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(venueService);
+    }
+
+    @Test
+    void returnVo_ShouldThrow_WhenVenueMissing() {
+        when(venueService.findByVenueID(9)).thenThrow(new EntityNotFoundException("场馆不存在"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> orderVoService.returnVo(Collections.singletonList(order(1, 9))));
+        assertEquals(RuntimeException.class, e.getClass());
+        assertEquals("场馆不存在", e.getMessage());
+    }
+
+    private OrderVo vo(int orderID, LocalDateTime orderTime) {
+        return new OrderVo(orderID, "user", 1, "A", 1, orderTime, orderTime.plusDays(1), 1, 100);
+    }
+
+    @Test
+    void findUserOrderFeed_ShouldReturnNextCursor_WhenMoreRows() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByUserID("user", PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(vo(9, time), vo(8, time), vo(7, time.minusHours(1))));
+
+        CursorPage<OrderVo> page = orderVoService.findUserOrderFeed("user", null, 2);
+
+        assertEquals(2, page.getContent().size());
+        verifyNoInteractions(orderArchiveDao);
+        Cursor next = Cursor.decode(page.getNextCursor());
+        assertEquals(time, next.getTime());
+        assertEquals(8, next.getId());
+    }
+
+    @Test
+    void findUserOrderFeed_ShouldSeekAfterCursor() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByUserIDAfter("user", time, 8, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(vo(7, time.minusHours(1))));
+
+        CursorPage<OrderVo> page = orderVoService.findUserOrderFeed("user", Cursor.encode(time, 8), 2);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findAuditOrderFeed_ShouldMergeStatesByOrderTime() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByState(2, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(vo(6, time), vo(3, time.minusHours(3))));
+        when(orderDao.findVoFeedByState(3, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(vo(5, time.minusHours(1)), vo(4, time.minusHours(2)), vo(2, time.minusHours(4))));
+
+        CursorPage<OrderVo> page = orderVoService.findAuditOrderFeed(null, 2);
+
+        assertEquals(Arrays.asList(6, 5), Arrays.asList(page.getContent().get(0).getOrderID(), page.getContent().get(1).getOrderID()));
+        Cursor next = Cursor.decode(page.getNextCursor());
+        assertEquals(time.minusHours(1), next.getTime());
+        assertEquals(5, next.getId());
+    }
+
+    @Test
+    void findAuditOrderFeed_ShouldSeekEachStateAfterCursor() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByStateAfter(2, time, 5, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(vo(3, time.minusHours(3))));
+        when(orderDao.findVoFeedByStateAfter(3, time, 5, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(vo(4, time.minusHours(2))));
+
+        CursorPage<OrderVo> page = orderVoService.findAuditOrderFeed(Cursor.encode(time, 5), 2);
+
+        assertEquals(4, page.getContent().get(0).getOrderID());
+        assertEquals(3, page.getContent().get(1).getOrderID());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findUserOrderFeed_ShouldContinueIntoArchive() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByUserIDAfter("user", time, 8, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(vo(7, time.minusHours(1))));
+        when(orderArchiveDao.findVoFeedByUserIDAfter("user", time, 8, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(vo(2, time.minusDays(400)), vo(1, time.minusDays(401))));
+
+        CursorPage<OrderVo> page = orderVoService.findUserOrderFeed("user", Cursor.encode(time, 8), 2);
+
+        assertEquals(7, page.getContent().get(0).getOrderID());
+        assertEquals(2, page.getContent().get(1).getOrderID());
+        Cursor next = Cursor.decode(page.getNextCursor());
+        assertEquals(time.minusDays(400), next.getTime());
+        assertEquals(2, next.getId());
+    }
+
+    @Test
+    void findAuditOrderFeed_ShouldMergeArchivedFinishedOrders() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByState(2, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(vo(6, time)));
+        when(orderArchiveDao.findVoFeedByState(3, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(vo(1, time.minusDays(400))));
+
+        CursorPage<OrderVo> page = orderVoService.findAuditOrderFeed(null, 2);
+
+        assertEquals(Arrays.asList(6, 1), Arrays.asList(page.getContent().get(0).getOrderID(), page.getContent().get(1).getOrderID()));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findUserOrderVo_ShouldNotTouchArchive_WhenLivePageIsFull() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByUserID("user", PageRequest.of(1, 2)))
+                .thenReturn(Arrays.asList(vo(7, time), vo(6, time.minusHours(1))));
+        when(countService.countUserOrders("user")).thenReturn(9L);
+
+        Page<OrderVo> page = orderVoService.findUserOrderVo("user", PageRequest.of(1, 2));
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(9, page.getTotalElements());
+        verifyNoInteractions(orderArchiveDao);
+        verify(orderDao, never()).countByUserID(any());
+    }
+
+    @Test
+    void findUserOrderVo_ShouldTopUpFromArchive_WhenLiveRunsOut() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByUserID("user", PageRequest.of(1, 2)))
+                .thenReturn(Collections.singletonList(vo(7, time)));
+        when(orderArchiveDao.findVoByUserID("user", 0, 1))
+                .thenReturn(Collections.singletonList(vo(2, time.minusDays(400))));
+        when(countService.countUserOrders("user")).thenReturn(5L);
+
+        Page<OrderVo> page = orderVoService.findUserOrderVo("user", PageRequest.of(1, 2));
+
+        assertEquals(Arrays.asList(7, 2), Arrays.asList(page.getContent().get(0).getOrderID(), page.getContent().get(1).getOrderID()));
+        assertEquals(5, page.getTotalElements());
+        verify(orderDao, never()).countByUserID(any());
+    }
+
+    @Test
+    void findUserOrderVo_ShouldSkipLiveRowsInArchiveOffset_WhenPageIsAllArchive() {
+        LocalDateTime time = LocalDateTime.of(2025, 4, 8, 10, 0);
+        when(orderDao.findVoFeedByUserID("user", PageRequest.of(2, 2))).thenReturn(Collections.emptyList());
+        when(orderDao.countByUserID("user")).thenReturn(3L);
+        when(orderArchiveDao.findVoByUserID("user", 1, 2))
+                .thenReturn(Arrays.asList(vo(2, time.minusDays(400)), vo(1, time.minusDays(401))));
+        when(countService.countUserOrders("user")).thenReturn(6L);
+
+        Page<OrderVo> page = orderVoService.findUserOrderVo("user", PageRequest.of(2, 2));
+
+        assertEquals(2, page.getContent().size());
+    }
+
+    @Test
+    void findUserOrderFeed_ShouldRejectMalformedCursor() {
+        InvalidCursorException thrown = assertThrows(InvalidCursorException.class,
+                () -> orderVoService.findUserOrderFeed("user", "not-a-cursor", 2));
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getClass().getAnnotation(ResponseStatus.class).value());
+    }
+}
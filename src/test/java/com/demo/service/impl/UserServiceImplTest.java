@@ -8,13 +8,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -120,6 +120,48 @@ class UserServiceImplTest {
         verify(userDao, times(1)).findById(0);
     }
 
+    @Test
+    void findProfile_ShouldCacheCopy_UntilUserUpdated() {
+        // 语句覆盖：缓存命中不查库，修改后重新加载
+        ReflectionTestUtils.setField(userService, "profileTtl", 60000L);
+        ReflectionTestUtils.setField(userService, "profileMaxSize", 10);
+        when(userDao.findById(1)).thenReturn(testUser);
+
+        User first = userService.findProfile(1);
+        first.setPassword("changedByCaller");
+        User second = userService.findProfile(1);
+
+        assertEquals("password123", second.getPassword());
+        verify(userDao, times(1)).findById(1);
+
+        userService.updateUser(testUser);
+        userService.findProfile(1);
+        verify(userDao, times(2)).findById(1);
+    }
+
+    @Test
+    void findProfile_ShouldNotCacheStaleRow_WhenEvictedDuringLoad() {
+        // 语句覆盖：读库期间资料被修改，读到的旧资料不能覆盖淘汰
+        User stale = new User(1, "user1", "old", "password1", "user1@example.com", "1234567890", 0, "");
+        User fresh = new User(1, "user1", "new", "password1", "user1@example.com", "1234567890", 0, "");
+        when(userDao.findById(1)).thenAnswer(invocation -> {
+            userService.updateUser(fresh);
+            return stale;
+        }).thenReturn(fresh);
+
+        assertEquals("old", userService.findProfile(1).getUserName());
+        assertEquals("new", userService.findProfile(1).getUserName());
+        verify(userDao, times(2)).findById(1);
+    }
+
+    @Test
+    void findProfile_ShouldReturnNull_WhenUserMissing() {
+        // 等价类划分：不存在的ID
+        when(userDao.findById(999)).thenReturn(null);
+
+        assertNull(userService.findProfile(999));
+    }
+
     @Test
     void testFindByUserID_ShouldReturnPageOfNonAdminUsers() {
         // 语句覆盖和判定覆盖
@@ -200,30 +242,63 @@ class UserServiceImplTest {
     }
 
     @Test
-    void create_ShouldSaveUserAndReturnTotalCount() {
+    void create_ShouldSaveUserAndReturnGeneratedId() {
         // 语句覆盖
-        List<User> existingUsers = Arrays.asList(testUser, adminUser);
-        when(userDao.findAll()).thenReturn(existingUsers);
-        when(userDao.save(any(User.class))).thenReturn(testUser);
+        when(userDao.save(any(User.class))).thenReturn(adminUser);
 
         int result = userService.create(new User());
 
         assertEquals(2, result);
         verify(userDao, times(1)).save(any(User.class));
-        verify(userDao, times(1)).findAll();
+        verify(userDao, never()).findAll();
     }
 
     @Test
     void create_ShouldHandleEmptyUser() {
         // 边界值分析：空用户对象
         when(userDao.save(any(User.class))).thenReturn(new User());
-        when(userDao.findAll()).thenReturn(Collections.emptyList());
 
         int result = userService.create(new User());
 
         assertEquals(0, result);
         verify(userDao, times(1)).save(any(User.class));
-        verify(userDao, times(1)).findAll();
+        verify(userDao, never()).findAll();
+    }
+
+    @Test
+    void countUsers_ShouldLoadOnce_ThenFollowCreateAndDelete() {
+        // 语句覆盖：计数器只在第一次使用时查库
+        when(userDao.count()).thenReturn(5L);
+        when(userDao.save(any(User.class))).thenReturn(testUser);
+
+        assertEquals(5, userService.countUsers());
+        userService.create(new User());
+        userService.create(new User());
+        userService.delByID(1);
+
+        assertEquals(6, userService.countUsers());
+        verify(userDao, times(1)).count();
+    }
+
+    @Test
+    void countUsers_ShouldNotDrift_WhenCreatedBeforeFirstLoad() {
+        // 边界值分析：计数器未加载时注册
+        when(userDao.save(any(User.class))).thenReturn(testUser);
+        userService.create(new User());
+        when(userDao.count()).thenReturn(3L);
+
+        assertEquals(3, userService.countUsers());
+    }
+
+    @Test
+    void delByID_ShouldKeepCount_WhenDeleteFails() {
+        // 等价类划分：删除失败时不减少计数
+        when(userDao.count()).thenReturn(2L);
+        userService.countUsers();
+        doThrow(new EmptyResultDataAccessException(1)).when(userDao).deleteById(9);
+
+        assertThrows(EmptyResultDataAccessException.class, () -> userService.delByID(9));
+        assertEquals(2, userService.countUsers());
     }
 
     @Test
@@ -260,7 +335,8 @@ class UserServiceImplTest {
 
     @Test
     void countUserID_ShouldReturnCount_WhenUserIDExists() {
-        // 等价类划分：存在的用户ID
+        // 等价类划分：存在的用户ID，过滤器命中后查库确认
+        when(userDao.findAllUserIDs()).thenReturn(Collections.singletonList("testUser"));
         when(userDao.countByUserID("testUser")).thenReturn(1);
         int result = userService.countUserID("testUser");
         assertEquals(1, result);
@@ -269,21 +345,57 @@ class UserServiceImplTest {
 
     @Test
     void countUserID_ShouldReturnZero_WhenUserIDNotExists() {
-        // 等价类划分：不存在的用户ID
-        when(userDao.countByUserID("nonExistingUser")).thenReturn(0);
+        // 等价类划分：不存在的用户ID，不查库
+        when(userDao.findAllUserIDs()).thenReturn(Collections.singletonList("testUser"));
         int result = userService.countUserID("nonExistingUser");
         assertEquals(0, result);
-        verify(userDao, times(1)).countByUserID("nonExistingUser");
+        verify(userDao, never()).countByUserID(anyString());
     }
 
     @Test
     void countUserID_ShouldHandleEmptyUserID() {
         // 边界值分析：空用户ID
-        when(userDao.countByUserID("")).thenReturn(0);
-
         int result = userService.countUserID("");
 
         assertEquals(0, result);
-        verify(userDao, times(1)).countByUserID("");
+        verify(userDao, never()).countByUserID(anyString());
+    }
+
+    @Test
+    void countUserID_ShouldSeeUsersCreatedAfterFilterBuilt() {
+        // 语句覆盖：注册、改名后的用户名立即可见
+        when(userDao.findAllUserIDs()).thenReturn(Collections.emptyList());
+        userService.rebuildUserIDFilter();
+        User newUser = new User();
+        newUser.setUserID("newUser");
+        when(userDao.save(newUser)).thenReturn(newUser);
+        when(userDao.countByUserID(anyString())).thenReturn(1);
+
+        userService.create(newUser);
+        testUser.setUserID("renamed");
+        userService.updateUser(testUser);
+
+        assertEquals(1, userService.countUserID("newUser"));
+        assertEquals(1, userService.countUserID("renamed"));
+        verify(userDao, times(1)).findAllUserIDs();
+    }
+
+    @Test
+    void countUserID_ShouldSeeUsersCreatedWhileRebuilding() {
+        // 语句覆盖：重建读库期间注册的用户名在替换后仍可见
+        when(userDao.findAllUserIDs()).thenReturn(Collections.emptyList());
+        userService.rebuildUserIDFilter();
+        User newUser = new User();
+        newUser.setUserID("duringRebuild");
+        when(userDao.save(newUser)).thenReturn(newUser);
+        when(userDao.findAllUserIDs()).thenAnswer(invocation -> {
+            userService.create(newUser);
+            return Collections.emptyList();
+        });
+        when(userDao.countByUserID("duringRebuild")).thenReturn(1);
+
+        userService.rebuildUserIDFilter();
+
+        assertEquals(1, userService.countUserID("duringRebuild"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.entity.Venue;
+import com.demo.service.OccupancyService;
+import com.demo.service.VenueService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VenueSearchServiceImplTest {
+
+    @Mock
+    private VenueService venueService;
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OccupancyService occupancyService;
+
+    @InjectMocks
+    private VenueSearchServiceImpl venueSearchService;
+
+    private final LocalDate day = LocalDate.now().plusDays(2);
+
+    private Venue venue(int venueID, String open, String close) {
+        return new Venue(venueID, "venue" + venueID, "", 100, "", "", open, close);
+    }
+
+    @Test
+    void findFreeVenues_ShouldUseIndexAndOpeningHours() {
+        when(venueService.findAll()).thenReturn(Arrays.asList(
+                venue(1, "08:00", "22:00"), venue(2, "08:00", "22:00"), venue(3, "15:00", "22:00")));
+        when(occupancyService.covers(day)).thenReturn(true);
+        when(occupancyService.occupiedHours(1, day)).thenReturn(1 << 9);
+        when(occupancyService.occupiedHours(2, day)).thenReturn(1 << 15);
+
+        List<Venue> result = venueSearchService.findFreeVenues(day, 14, 16);
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getVenueID());
+        verifyNoInteractions(orderDao);
+    }
+
+    @Test
+    void findFreeVenues_ShouldFallBackToOneQuery_WhenIndexNotReady() {
+        when(venueService.findAll()).thenReturn(Arrays.asList(venue(1, "08:00", "22:00"), venue(2, "08:00", "22:00")));
+        when(occupancyService.covers(day)).thenReturn(false);
+        when(orderDao.findByStateInAndStartTimeGreaterThanEqualAndStartTimeLessThan(anyCollection(), any(), any()))
+                .thenReturn(Collections.singletonList(new Order(1, "user", 2, 1, LocalDateTime.now(), day.atTime(13, 0), 2, 200)));
+
+        List<Venue> result = venueSearchService.findFreeVenues(day, 14, 16);
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getVenueID());
+        verify(occupancyService, never()).occupiedHours(anyInt(), any());
+    }
+
+    @Test
+    void findFreeVenues_ShouldRejectInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> venueSearchService.findFreeVenues(day, 16, 14));
+        assertThrows(IllegalArgumentException.class, () -> venueSearchService.findFreeVenues(LocalDate.now().minusDays(1), 14, 16));
+    }
+
+    @Test
+    void openMask_ShouldStartAtNextFullHour() {
+        assertEquals(VenueSearchServiceImpl.hourMask(9, 21), VenueSearchServiceImpl.openMask(venue(1, "08:30", "21:30")));
+        assertEquals(VenueSearchServiceImpl.hourMask(8, 22), VenueSearchServiceImpl.openMask(venue(1, "08:00 ", "22:00")));
+        assertEquals(0, VenueSearchServiceImpl.openMask(venue(1, "", "22:00")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.service.impl;
+
+import com.demo.dao.VenueDayStatDao;
+import com.demo.entity.Order;
+import com.demo.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VenueStatServiceImplTest {
+
+    @Mock
+    private VenueDayStatDao venueDayStatDao;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private VenueStatServiceImpl venueStatService;
+
+    private final LocalDateTime start = LocalDateTime.of(2025, 5, 10, 14, 0);
+
+    @Test
+    void record_ShouldCountPendingOrder_WithoutRevenue() {
+        Order order = new Order(1, "user", 3, OrderService.STATE_NO_AUDIT, LocalDateTime.now(), start, 2, 200);
+
+        venueStatService.record(null, order);
+
+        verify(venueDayStatDao).add(3, start.toLocalDate(), 0, 0, 1, 0, 0, 0);
+    }
+
+    @Test
+    void record_ShouldMoveContribution_WhenOrderRescheduled() {
+        Order before = new Order(1, "user", 3, OrderService.STATE_WAIT, LocalDateTime.now(), start, 2, 200);
+        Order after = new Order(1, "user", 4, OrderService.STATE_NO_AUDIT, LocalDateTime.now(), start.plusDays(1), 3, 300);
+
+        venueStatService.record(before, after);
+
+        verify(venueDayStatDao).add(3, start.toLocalDate(), -2, -200, 0, -1, 0, 0);
+        verify(venueDayStatDao).add(4, start.toLocalDate().plusDays(1), 0, 0, 1, 0, 0, 0);
+    }
+
+    @Test
+    void recordTransition_ShouldAddRevenue_WhenConfirmed() {
+        venueStatService.recordTransition(Arrays.asList(1, 2), OrderService.STATE_NO_AUDIT, OrderService.STATE_WAIT);
+
+        verify(venueDayStatDao).addTransition(Arrays.asList(1, 2), 1, -1, 1, 0, 0);
+    }
+
+    @Test
+    void recordTransition_ShouldKeepRevenue_WhenFinished() {
+        venueStatService.recordTransition(Collections.singletonList(1), OrderService.STATE_WAIT, OrderService.STATE_FINISH);
+
+        verify(venueDayStatDao).addTransition(Collections.singletonList(1), 0, 0, -1, 1, 0);
+    }
+
+    @Test
+    void recordTransition_ShouldSkip_WhenNothingChanged() {
+        venueStatService.recordTransition(Collections.emptyList(), OrderService.STATE_NO_AUDIT, OrderService.STATE_REJECT);
+
+        verifyNoInteractions(venueDayStatDao);
+    }
+}